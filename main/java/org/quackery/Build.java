@@ -2,17 +2,26 @@ package org.quackery;
 
 import static java.util.Arrays.asList;
 
+import org.quackery.junit.Concurrent;
 import org.quackery.junit.QuackeryRunner;
 import org.quackery.report.AssertException;
 import org.quackery.report.AssumeException;
 import org.quackery.report.ReportException;
 import org.quackery.report.Reports;
+import org.quackery.report.Result;
+import org.quackery.run.AdaptiveConcurrency;
+import org.quackery.run.DurationHistory;
+import org.quackery.run.ResultCache;
+import org.quackery.run.RunContext;
+import org.quackery.run.RunListener;
 import org.quackery.run.Runners;
 
 class Build {
   Object core = asList(Test.class, Case.class, Suite.class, Contract.class, QuackeryException.class);
-  Object report = asList(Reports.class, ReportException.class, AssertException.class, AssumeException.class);
+  Object report = asList(Reports.class, ReportException.class, AssertException.class, AssumeException.class,
+      Result.class);
   Object contracts = asList(Contracts.class);
-  Object integration = asList(Quackery.class, QuackeryRunner.class);
-  Object run = asList(Runners.class);
+  Object integration = asList(Quackery.class, QuackeryRunner.class, Concurrent.class);
+  Object run = asList(Runners.class, RunContext.class, DurationHistory.class,
+      ResultCache.class, RunListener.class, AdaptiveConcurrency.class);
 }
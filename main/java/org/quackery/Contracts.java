@@ -2,10 +2,15 @@ package org.quackery;
 
 import java.util.Collection;
 
+import org.quackery.contract.collection.CollectionBenchmark;
 import org.quackery.contract.collection.CollectionContract;
 
 public class Contracts {
   public static CollectionContract quacksLike(Class<Collection> type, Collection<?>... erasure) {
     return new CollectionContract();
   }
+
+  public static CollectionBenchmark benchmark(Class<Collection> type, Collection<?>... erasure) {
+    return new CollectionBenchmark();
+  }
 }
@@ -1,53 +1,63 @@
 package org.quackery;
 
 import static java.util.Arrays.asList;
-import static java.util.Collections.unmodifiableList;
+import static java.util.stream.Collectors.toList;
 import static org.quackery.QuackeryException.check;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 public class Suite implements Test {
   private final String name;
-  private final List<Test> children;
+  private final Children children;
 
-  private Suite(String name, List<Test> children) {
+  private Suite(String name, Children children) {
     this.name = name;
     this.children = children;
   }
 
-  private static Suite suite(String name, List<Test> children) {
+  public static Suite suite(String name) {
     check(name != null);
-    check(children != null);
-    Suite suite = new Suite(name, unmodifiableList(new ArrayList<Test>(children)));
-    check(!suite.children.contains(null));
-    return suite;
+    return new Suite(name, Shared.EMPTY);
   }
 
-  public static Suite suite(String name) {
+  public static Suite generated(String name, Supplier<? extends Stream<? extends Test>> generator) {
     check(name != null);
-    return suite(name, Arrays.<Test> asList());
+    check(generator != null);
+    return new Suite(name, new Generated(() -> generator.get().map(Suite::checked), Shared.EMPTY));
+  }
+
+  private static Test checked(Test child) {
+    check(child != null);
+    return child;
+  }
+
+  public boolean isGenerated() {
+    return children instanceof Generated;
   }
 
   public Suite add(Test newChild) {
     check(newChild != null);
-    ArrayList<Test> allChildren = new ArrayList<>();
-    allChildren.addAll(children);
-    allChildren.add(newChild);
-    return suite(name, allChildren);
+    return new Suite(name, children.plus(newChild));
   }
 
   public Suite addAll(Iterable<? extends Test> newChildren) {
     check(newChildren != null);
-    ArrayList<Test> allChildren = new ArrayList<>();
-    allChildren.addAll(children);
+    List<Test> checkedChildren = new ArrayList<>();
     for (Test newChild : newChildren) {
       check(newChild != null);
-      allChildren.add(newChild);
+      checkedChildren.add(newChild);
     }
-    return suite(name, allChildren);
+    return new Suite(name, children.plusAll(checkedChildren));
   }
 
   public Suite addAll(Test[] newChildren) {
@@ -84,4 +94,152 @@ public class Suite implements Test {
   public String toString() {
     return name;
   }
+
+  private abstract static class Children extends AbstractList<Test> {
+    public abstract Children plus(Test child);
+
+    public abstract Children plusAll(List<Test> newChildren);
+  }
+
+  /**
+   * Immutable prefix of a shared, append-only buffer. Appending to the longest prefix claims the next
+   * free slot of the buffer instead of copying it, so building a suite one child at a time is
+   * amortized O(1) per child. Appending to any other prefix copies it into a fresh buffer, which keeps
+   * every previously returned suite unchanged.
+   */
+  private static class Shared extends Children implements RandomAccess {
+    private static final Shared EMPTY = new Shared(new Buffer(0), 0);
+
+    private final Buffer buffer;
+    private final int size;
+
+    private Shared(Buffer buffer, int size) {
+      this.buffer = buffer;
+      this.size = size;
+    }
+
+    public Shared plus(Test child) {
+      if (buffer.claim(size, 1)) {
+        buffer.elements[size] = child;
+        return new Shared(buffer, size + 1);
+      }
+      Buffer copy = buffer.copy(size, size + 1);
+      copy.elements[size] = child;
+      return new Shared(copy, size + 1);
+    }
+
+    public Shared plusAll(List<Test> newChildren) {
+      int count = newChildren.size();
+      if (count == 0) {
+        return this;
+      }
+      Buffer target = buffer.claim(size, count)
+          ? buffer
+          : buffer.copy(size, size + count);
+      for (int i = 0; i < count; i++) {
+        target.elements[size + i] = newChildren.get(i);
+      }
+      return new Shared(target, size + count);
+    }
+
+    public Test get(int index) {
+      if (index < 0 || index >= size) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+      }
+      return buffer.elements[index];
+    }
+
+    public int size() {
+      return size;
+    }
+  }
+
+  private static class Buffer {
+    private final Test[] elements;
+    private final AtomicInteger claimed = new AtomicInteger();
+
+    private Buffer(int capacity) {
+      elements = new Test[capacity];
+    }
+
+    public boolean claim(int from, int count) {
+      return from + count <= elements.length
+          && claimed.compareAndSet(from, from + count);
+    }
+
+    public Buffer copy(int size, int minimumCapacity) {
+      Buffer copy = new Buffer(Math.max(minimumCapacity, 2 * size));
+      System.arraycopy(elements, 0, copy.elements, 0, size);
+      copy.claimed.set(minimumCapacity);
+      return copy;
+    }
+  }
+
+  /**
+   * Children produced by generator each time they are traversed. Nothing is kept between
+   * traversals, so iterating them needs memory for one child at a time. Methods that need all of
+   * them at once, like size or get, generate them again on each call. Children added later are
+   * kept in one list and concatenated once, so adding many of them does not nest streams.
+   */
+  private static class Generated extends Children {
+    private final Supplier<Stream<Test>> generator;
+    private final Shared added;
+
+    private Generated(Supplier<Stream<Test>> generator, Shared added) {
+      this.generator = generator;
+      this.added = added;
+    }
+
+    public Children plus(Test child) {
+      return new Generated(generator, added.plus(child));
+    }
+
+    public Children plusAll(List<Test> newChildren) {
+      return new Generated(generator, added.plusAll(newChildren));
+    }
+
+    public Stream<Test> stream() {
+      return added.isEmpty()
+          ? generator.get()
+          : Stream.concat(generator.get(), added.stream());
+    }
+
+    public Iterator<Test> iterator() {
+      return stream().iterator();
+    }
+
+    public Spliterator<Test> spliterator() {
+      return stream().spliterator();
+    }
+
+    public void forEach(Consumer<? super Test> action) {
+      stream().forEachOrdered(action);
+    }
+
+    public boolean isEmpty() {
+      return !iterator().hasNext();
+    }
+
+    public Object[] toArray() {
+      return stream().toArray();
+    }
+
+    public <T> T[] toArray(T[] array) {
+      return stream().collect(toList()).toArray(array);
+    }
+
+    public Test get(int index) {
+      if (index < 0) {
+        throw new IndexOutOfBoundsException("Index: " + index);
+      }
+      return stream()
+          .skip(index)
+          .findFirst()
+          .orElseThrow(() -> new IndexOutOfBoundsException("Index: " + index));
+    }
+
+    public int size() {
+      return (int) stream().count();
+    }
+  }
 }
@@ -2,7 +2,9 @@ package org.quackery.common;
 
 import java.time.Duration;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
@@ -13,6 +15,7 @@ public class ExecutorBuilder {
   private Duration keepAlive = Duration.ofMinutes(1);
   private Supplier<BlockingQueue<Runnable>> blockingQueueSupplier = LinkedBlockingQueue<Runnable>::new;
   private boolean allowCoreThreadTimeOut = false;
+  private ThreadFactory threadFactory = Executors.defaultThreadFactory();
 
   private ExecutorBuilder() {}
 
@@ -45,11 +48,17 @@ public class ExecutorBuilder {
     return this;
   }
 
+  public ExecutorBuilder threadFactory(ThreadFactory threadFactory) {
+    this.threadFactory = threadFactory;
+    return this;
+  }
+
   public ThreadPoolExecutor build() {
     ThreadPoolExecutor executor = new ThreadPoolExecutor(
         corePoolSize, maximumPoolSize,
         keepAlive.toNanos(), TimeUnit.NANOSECONDS,
-        blockingQueueSupplier.get());
+        blockingQueueSupplier.get(),
+        threadFactory);
     executor.allowCoreThreadTimeOut(allowCoreThreadTimeOut);
     return executor;
   }
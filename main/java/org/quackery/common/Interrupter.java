@@ -1,15 +1,37 @@
 package org.quackery.common;
 
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
-import static org.quackery.common.ExecutorBuilder.executorBuilder;
 
 import java.time.Duration;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
-import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+/**
+ * Hashed timer wheel. Alarms are kept in buckets of intrusive linked lists, one bucket per tick,
+ * so scheduling and cancelling are O(1) and all alarms are served by single worker. Worker is
+ * started on executor when first alarm is scheduled and stops when there are no alarms left.
+ * Alarm fires while holding lock of wheel, so alarm that was cancelled successfully never
+ * interrupts its thread or runs its action.
+ */
 public class Interrupter {
+  private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+  private static final int WHEEL_SIZE = 512;
+  private static final Interrupter SHARED = interrupter(runnable -> {
+    Thread thread = new Thread(runnable, "quackery-interrupter");
+    thread.setDaemon(true);
+    thread.start();
+  });
+
   private final Executor executor;
+  private final Object lock = new Object();
+  private final Alarm[] buckets = new Alarm[WHEEL_SIZE];
+  private final long origin = System.nanoTime();
+  private long processedTick;
+  private int scheduled;
+  private boolean running;
 
   private Interrupter(Executor executor) {
     this.executor = executor;
@@ -19,27 +41,185 @@ public class Interrupter {
     return new Interrupter(executor);
   }
 
+  /** Returns interrupter shared by all callers. Its worker thread is alive only while needed. */
   public static Interrupter interrupter() {
-    return interrupter(executorBuilder()
-        .poolSize(0, 1)
-        .keepAlive(Duration.ofNanos(1))
-        .allowCoreThreadTimeOut(true)
-        .build());
+    return SHARED;
   }
 
   public Future<Void> interrupt(Duration delay, Thread thread) {
-    FutureTask<Void> futureTask = new FutureTask<Void>(() -> {
-      try {
-        NANOSECONDS.sleep(delay.toNanos());
-        thread.interrupt();
-      } catch (InterruptedException e) {}
-      return null;
-    });
-    executor.execute(futureTask);
-    return futureTask;
+    return schedule(delay, thread::interrupt);
   }
 
   public Future<Void> interruptMe(Duration delay) {
     return interrupt(delay, Thread.currentThread());
   }
+
+  /** Action runs in worker thread while holding lock of wheel, so it should be quick. */
+  public Future<Void> schedule(Duration delay, Runnable action) {
+    long deadline = System.nanoTime() + delay.toNanos();
+    synchronized (lock) {
+      boolean starting = !running;
+      if (starting) {
+        running = true;
+        processedTick = tickAt(System.nanoTime());
+      }
+      long deadlineTick = Math.max(
+          processedTick + 1,
+          -Math.floorDiv(origin - deadline, TICK_NANOS));
+      Alarm alarm = new Alarm(action, deadlineTick);
+      link(alarm);
+      if (starting) {
+        try {
+          executor.execute(() -> work());
+        } catch (RuntimeException e) {
+          unlink(alarm);
+          running = false;
+          throw e;
+        }
+      }
+      return alarm;
+    }
+  }
+
+  private long tickAt(long nanoTime) {
+    return Math.floorDiv(nanoTime - origin, TICK_NANOS);
+  }
+
+  private void work() {
+    synchronized (lock) {
+      while (true) {
+        long currentTick = tickAt(System.nanoTime());
+        while (processedTick < currentTick) {
+          processedTick++;
+          fire(processedTick);
+        }
+        if (scheduled == 0) {
+          running = false;
+          return;
+        }
+        long untilNextTick = origin + (processedTick + 1) * TICK_NANOS - System.nanoTime();
+        if (untilNextTick > 0) {
+          try {
+            NANOSECONDS.timedWait(lock, untilNextTick);
+          } catch (InterruptedException e) {}
+        }
+      }
+    }
+  }
+
+  private void fire(long tick) {
+    Alarm alarm = buckets[bucketOf(tick)];
+    while (alarm != null) {
+      Alarm next = alarm.next;
+      if (alarm.deadlineTick <= tick) {
+        unlink(alarm);
+        alarm.state = Alarm.FIRED;
+        try {
+          alarm.action.run();
+        } catch (RuntimeException e) {} finally {
+          alarm.settle();
+        }
+      }
+      alarm = next;
+    }
+  }
+
+  private static int bucketOf(long tick) {
+    return (int) (tick & (WHEEL_SIZE - 1));
+  }
+
+  private void link(Alarm alarm) {
+    int bucket = bucketOf(alarm.deadlineTick);
+    alarm.next = buckets[bucket];
+    if (alarm.next != null) {
+      alarm.next.previous = alarm;
+    }
+    buckets[bucket] = alarm;
+    scheduled++;
+  }
+
+  private void unlink(Alarm alarm) {
+    if (alarm.previous != null) {
+      alarm.previous.next = alarm.next;
+    } else {
+      buckets[bucketOf(alarm.deadlineTick)] = alarm.next;
+    }
+    if (alarm.next != null) {
+      alarm.next.previous = alarm.previous;
+    }
+    alarm.previous = null;
+    alarm.next = null;
+    scheduled--;
+  }
+
+  /** Alarm is done as soon as it fires, but get returns only after its action ran. */
+  private class Alarm implements Future<Void> {
+    private static final int PENDING = 0;
+    private static final int FIRED = 1;
+    private static final int CANCELLED = 2;
+
+    private final Runnable action;
+    private final long deadlineTick;
+    private Alarm previous;
+    private Alarm next;
+    private volatile int state = PENDING;
+    private boolean settled;
+
+    private Alarm(Runnable action, long deadlineTick) {
+      this.action = action;
+      this.deadlineTick = deadlineTick;
+    }
+
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      synchronized (lock) {
+        if (state != PENDING) {
+          return false;
+        }
+        unlink(this);
+        state = CANCELLED;
+        settle();
+        return true;
+      }
+    }
+
+    private synchronized void settle() {
+      settled = true;
+      notifyAll();
+    }
+
+    public boolean isCancelled() {
+      return state == CANCELLED;
+    }
+
+    public boolean isDone() {
+      return state != PENDING;
+    }
+
+    public synchronized Void get() throws InterruptedException {
+      while (!settled) {
+        wait();
+      }
+      return result();
+    }
+
+    public synchronized Void get(long timeout, TimeUnit unit)
+        throws InterruptedException, TimeoutException {
+      long deadline = System.nanoTime() + unit.toNanos(timeout);
+      while (!settled) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+          throw new TimeoutException();
+        }
+        NANOSECONDS.timedWait(this, remaining);
+      }
+      return result();
+    }
+
+    private Void result() {
+      if (state == CANCELLED) {
+        throw new CancellationException();
+      }
+      return null;
+    }
+  }
 }
@@ -0,0 +1,38 @@
+package org.quackery.common;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Virtual threads are looked up reflectively, because quackery is compiled for java 8. On jvm
+ * without them, factory is empty and callers fall back to platform threads.
+ */
+public class VirtualThreads {
+  private static final Optional<ThreadFactory> factory = lookupFactory();
+
+  private VirtualThreads() {}
+
+  public static boolean isSupported() {
+    return factory.isPresent();
+  }
+
+  public static Optional<ThreadFactory> virtualThreadFactory() {
+    return factory;
+  }
+
+  public static Optional<Executor> virtualThreadPerTaskExecutor() {
+    return factory.map(threadFactory -> runnable -> threadFactory.newThread(runnable).start());
+  }
+
+  private static Optional<ThreadFactory> lookupFactory() {
+    try {
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      Method factoryMethod = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+      return Optional.of((ThreadFactory) factoryMethod.invoke(builder));
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      return Optional.empty();
+    }
+  }
+}
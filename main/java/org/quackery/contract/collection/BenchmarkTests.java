@@ -0,0 +1,122 @@
+package org.quackery.contract.collection;
+
+import static java.lang.String.format;
+import static java.util.Arrays.sort;
+import static org.quackery.Case.newCase;
+import static org.quackery.Suite.suite;
+import static org.quackery.contract.collection.Includes.filterIncluded;
+import static org.quackery.contract.collection.Includes.includeIf;
+import static org.quackery.contract.collection.Measurements.consume;
+import static org.quackery.contract.collection.Measurements.elements;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import org.quackery.Test;
+import org.quackery.contract.collection.Measurements.Timed;
+import org.quackery.report.AssertException;
+
+/**
+ * Cases comparing throughput of operations on tested collection and on baseline collection. Each
+ * operation is repeated for warmup, and then measured in slices of fixed time, alternating between
+ * tested and baseline collection, so both are affected by the same noise. Median throughput of
+ * slices is compared.
+ */
+public class BenchmarkTests {
+  private static final int SIZE = 1000;
+  private static final long WARMUP_NANOS = 100_000_000;
+  private static final long SLICE_NANOS = 20_000_000;
+  private static final int SLICES = 5;
+
+  public static Test test(String name, Creator tested, Creator baseline, double ratio,
+      boolean immutable) {
+    return filterIncluded(suite(name)
+        .add(benchmark("copy", tested, baseline, ratio, BenchmarkTests::copy))
+        .add(includeIf(!immutable,
+            benchmark("add", tested, baseline, ratio, Measurements::timeAdd)))
+        .add(benchmark("contains", tested, baseline, ratio, BenchmarkTests::contains))
+        .add(benchmark("iterate", tested, baseline, ratio, BenchmarkTests::iterate))
+        .add(includeIf(!immutable,
+            benchmark("remove", tested, baseline, ratio, Measurements::timeIteratorRemove))));
+  }
+
+  private static Test benchmark(String operation, Creator tested, Creator baseline, double ratio,
+      Timed timed) {
+    return newCase(operation, () -> {
+      double[] throughputs = measure(timed, tested, baseline);
+      if (throughputs[0] < ratio * throughputs[1]) {
+        throughputs = measure(timed, tested, baseline);
+        if (throughputs[0] < ratio * throughputs[1]) {
+          throw new AssertException(format(""
+              + "\n"
+              + "  expected %s to perform at least %s of baseline\n"
+              + "  but tested performed %.0f ops/s\n"
+              + "  and baseline performed %.0f ops/s\n",
+              operation,
+              ratio,
+              throughputs[0],
+              throughputs[1]));
+        }
+      }
+    });
+  }
+
+  /** Returns median operations per second of tested and baseline collection. */
+  private static double[] measure(Timed timed, Creator tested, Creator baseline) throws Throwable {
+    slice(timed, tested, WARMUP_NANOS);
+    slice(timed, baseline, WARMUP_NANOS);
+    double[] testedSlices = new double[SLICES];
+    double[] baselineSlices = new double[SLICES];
+    for (int i = 0; i < SLICES; i++) {
+      testedSlices[i] = slice(timed, tested, SLICE_NANOS);
+      baselineSlices[i] = slice(timed, baseline, SLICE_NANOS);
+    }
+    return new double[] { median(testedSlices), median(baselineSlices) };
+  }
+
+  /** Repeats operation for given time, returns operations per second of time it was measured. */
+  private static double slice(Timed timed, Creator creator, long duration) throws Throwable {
+    long measured = 0;
+    long operations = 0;
+    long deadline = System.nanoTime() + duration;
+    do {
+      measured += timed.nanosFor(creator, SIZE);
+      operations += SIZE;
+    } while (System.nanoTime() - deadline < 0);
+    return operations * 1e9 / Math.max(1, measured);
+  }
+
+  private static double median(double[] values) {
+    sort(values);
+    return values[values.length / 2];
+  }
+
+  private static long copy(Creator creator, int size) throws Throwable {
+    ArrayList<Object> elements = elements(size);
+    long hashes = 0;
+    long start = System.nanoTime();
+    for (int i = 0; i < size; i++) {
+      hashes += creator.create(Collection.class, elements).size();
+    }
+    long time = System.nanoTime() - start;
+    consume(hashes);
+    return time;
+  }
+
+  /** As many queries as elements, so each slice counts size operations. */
+  private static long contains(Creator creator, int size) throws Throwable {
+    return Measurements.timeContains(creator, size, size);
+  }
+
+  private static long iterate(Creator creator, int size) throws Throwable {
+    Collection<?> collection = creator.create(Collection.class, elements(size));
+    long hashes = 0;
+    long start = System.nanoTime();
+    for (Object element : collection) {
+      hashes += element.hashCode();
+    }
+    long time = System.nanoTime() - start;
+    consume(hashes);
+    return time;
+  }
+}
@@ -0,0 +1,71 @@
+package org.quackery.contract.collection;
+
+import static org.quackery.QuackeryException.check;
+
+import java.util.ArrayList;
+
+import org.quackery.Contract;
+import org.quackery.Test;
+
+public class CollectionBenchmark implements Contract<Class<?>> {
+  private final Class<?> baseline;
+  private final double ratio;
+  private final boolean immutable;
+  private final String factoryName;
+
+  public CollectionBenchmark() {
+    this(ArrayList.class, 0.5, false, null);
+  }
+
+  private CollectionBenchmark(Class<?> baseline, double ratio, boolean immutable, String factoryName) {
+    this.baseline = baseline;
+    this.ratio = ratio;
+    this.immutable = immutable;
+    this.factoryName = factoryName;
+  }
+
+  public Test test(Class<?> type) {
+    check(type != null);
+    Creator creator = factoryName == null
+        ? new ConstructorCreator(type)
+        : new FactoryCreator(type, factoryName);
+    return BenchmarkTests.test(name(type), creator, new ConstructorCreator(baseline), ratio, immutable);
+  }
+
+  /** Baseline is created by its copy constructor. */
+  public CollectionBenchmark comparedTo(Class<?> baseline) {
+    check(baseline != null);
+    return new CollectionBenchmark(baseline, ratio, immutable, factoryName);
+  }
+
+  /** Fails cases where throughput is lower than given fraction of throughput of baseline. */
+  public CollectionBenchmark atLeast(double ratio) {
+    check(ratio > 0);
+    return new CollectionBenchmark(baseline, ratio, immutable, factoryName);
+  }
+
+  public CollectionBenchmark immutable() {
+    check(immutable == false);
+    return new CollectionBenchmark(baseline, ratio, true, factoryName);
+  }
+
+  public CollectionBenchmark withFactory(String methodName) {
+    check(methodName != null);
+    check(factoryName == null);
+    return new CollectionBenchmark(baseline, ratio, immutable, methodName);
+  }
+
+  private String name(Class<?> type) {
+    return type.getName()
+        + " performs at least " + ratio + " of " + baseline.getName()
+        + (immutable ? " immutable" : "")
+        + (factoryName != null ? " with factory " + factoryName : "");
+  }
+
+  public String toString() {
+    return "CollectionBenchmark(baseline=" + baseline.getName()
+        + ", ratio=" + ratio
+        + ", immutable=" + immutable
+        + ", factory=" + factoryName + ")";
+  }
+}
@@ -36,4 +36,24 @@ public class CollectionContract implements Contract<Class<?>> {
   public CollectionContract withFactory(String factoryMethodName) {
     return new CollectionContract(configuration.withFactory(factoryMethodName));
   }
+
+  public CollectionContract withComplexity() {
+    return new CollectionContract(configuration.withComplexity());
+  }
+
+  public CollectionContract randomized(long seed, int cases, int operations) {
+    return new CollectionContract(configuration.randomized(seed, cases, operations));
+  }
+
+  public CollectionContract randomized(long seed) {
+    return randomized(seed, 16, 10_000);
+  }
+
+  public CollectionContract randomized() {
+    return randomized(System.nanoTime());
+  }
+
+  public String toString() {
+    return "CollectionContract(" + configuration + ")";
+  }
 }
@@ -5,12 +5,14 @@ import static org.quackery.Case.newCase;
 import static org.quackery.Suite.suite;
 import static org.quackery.contract.collection.Collections.copy;
 import static org.quackery.contract.collection.Collections.newArrayList;
+import static org.quackery.contract.collection.ComplexityTests.complexityTests;
 import static org.quackery.contract.collection.Element.a;
 import static org.quackery.contract.collection.Element.b;
 import static org.quackery.contract.collection.Element.c;
 import static org.quackery.contract.collection.Element.d;
 import static org.quackery.contract.collection.Includes.includeIf;
 import static org.quackery.contract.collection.Includes.filterIncluded;
+import static org.quackery.contract.collection.RandomizedTests.randomizedTests;
 import static org.quackery.report.AssertException.assertEquals;
 import static org.quackery.report.AssertException.assertTrue;
 import static org.quackery.report.AssertException.fail;
@@ -139,7 +141,12 @@ public class CollectionTests {
             .add(includeIf(immutable, listIteratorSetThrowsUnsupportedOperationException(creator)))
             .add(includeIf(immutable, listIteratorSetHasNoSideEffect(creator)))
             .add(includeIf(immutable, listIteratorAddThrowsUnsupportedOperationException(creator)))
-            .add(includeIf(immutable, listIteratorAddHasNoSideEffect(creator))))));
+            .add(includeIf(immutable, listIteratorAddHasNoSideEffect(creator)))))
+        .add(includeIf(configuration.hasComplexity(),
+            complexityTests(creator, immutable, isList)))
+        .add(includeIf(configuration.isRandomized(),
+            randomizedTests(creator, configuration.getSeed(), configuration.getCases(),
+                configuration.getOperations(), immutable, forbiddingNull, isList))));
   }
 
   private static String name(Class<?> type, Configuration configuration) {
@@ -155,6 +162,12 @@ public class CollectionTests {
     if (configuration.hasFactory()) {
       builder.append(" with factory " + configuration.getFactoryName());
     }
+    if (configuration.hasComplexity()) {
+      builder.append(" with complexity");
+    }
+    if (configuration.isRandomized()) {
+      builder.append(" randomized from seed " + configuration.getSeed());
+    }
     return builder.toString();
   }
 
@@ -0,0 +1,171 @@
+package org.quackery.contract.collection;
+
+import static java.lang.String.format;
+import static java.util.Arrays.sort;
+import static org.quackery.Case.newCase;
+import static org.quackery.Suite.suite;
+import static org.quackery.contract.collection.Includes.includeIf;
+import static org.quackery.contract.collection.Measurements.consume;
+import static org.quackery.contract.collection.Measurements.elements;
+import static org.quackery.contract.collection.Measurements.spread;
+import static org.quackery.contract.collection.Measurements.timeContains;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Set;
+
+import org.quackery.Test;
+import org.quackery.contract.collection.Measurements.Timed;
+import org.quackery.report.AssertException;
+
+/**
+ * Cases checking how time of operations grows with size of collection. Each operation is timed at
+ * sizes growing twice, several times after warmup, and median time of each size is taken. Order of
+ * growth is slope of line fitted to logarithms of sizes and times. Case fails if slope exceeds
+ * declared order by more than tolerance, in two measurements in a row, so single pause of jvm or
+ * machine does not fail it.
+ */
+public class ComplexityTests {
+  private static final int[] SIZES = { 256, 512, 1024, 2048, 4096 };
+  private static final int WARMUPS = 2;
+  private static final int REPETITIONS = 5;
+  private static final int CALLS = 1000;
+  private static final double TOLERANCE = 0.5;
+
+  public static Test complexityTests(Creator creator, boolean immutable, boolean isList) {
+    return suite("has complexity")
+        .add(copyIsLinear(creator))
+        .add(containsIsFastEnough(creator))
+        .add(includeIf(isList, getIsFastEnough(creator)))
+        .add(includeIf(!immutable, addIsConstant(creator)))
+        .add(includeIf(!immutable, iteratorRemoveIsFastEnough(creator)));
+  }
+
+  private static Test copyIsLinear(Creator creator) {
+    return newCase("copy is created in linear time", () -> {
+      assertOrder(1, creator, (copied, size) -> {
+        ArrayList<Object> original = elements(size);
+        long start = System.nanoTime();
+        Collection<?> collection = copied.create(Collection.class, original);
+        long time = System.nanoTime() - start;
+        consume(collection.hashCode());
+        return time;
+      });
+    });
+  }
+
+  /** Sets are expected to look up elements in constant time, other collections by scanning. */
+  private static Test containsIsFastEnough(Creator creator) {
+    return newCase("contains is fast enough", () -> {
+      int order = sample(creator) instanceof Set ? 0 : 1;
+      assertOrder(order, creator, (queried, size) -> timeContains(queried, size, CALLS));
+    });
+  }
+
+  private static Test getIsFastEnough(Creator creator) {
+    return newCase("get is fast enough", () -> {
+      int order = sample(creator) instanceof RandomAccess ? 0 : 1;
+      assertOrder(order, creator, ComplexityTests::timeGet);
+    });
+  }
+
+  private static long timeGet(Creator creator, int size) throws Throwable {
+    List<?> list = creator.create(List.class, elements(size));
+    int[] indexes = new int[CALLS];
+    for (int i = 0; i < CALLS; i++) {
+      indexes[i] = spread(i, size);
+    }
+    long hashes = 0;
+    long start = System.nanoTime();
+    for (int index : indexes) {
+      hashes += list.get(index).hashCode();
+    }
+    long time = System.nanoTime() - start;
+    consume(hashes);
+    return time;
+  }
+
+  private static Test addIsConstant(Creator creator) {
+    return newCase("add runs in constant time", () -> {
+      assertOrder(1, creator, Measurements::timeAdd);
+    });
+  }
+
+  /** Removing all elements from set takes linear time, from other collections it may shift them. */
+  private static Test iteratorRemoveIsFastEnough(Creator creator) {
+    return newCase("iterator remove is fast enough", () -> {
+      int order = sample(creator) instanceof Set ? 1 : 2;
+      assertOrder(order, creator, Measurements::timeIteratorRemove);
+    });
+  }
+
+  private static Object sample(Creator creator) throws Throwable {
+    return creator.create(Collection.class, new ArrayList<>());
+  }
+
+  private static void assertOrder(int declared, Creator creator, Timed timed) throws Throwable {
+    long[] medians = measure(creator, timed);
+    double order = order(medians);
+    if (order > declared + TOLERANCE) {
+      medians = measure(creator, timed);
+      order = order(medians);
+      if (order > declared + TOLERANCE) {
+        throw new AssertException(format(""
+            + "\n"
+            + "  expected time growing like n^%s\n"
+            + "  but was growing like n^%.2f\n"
+            + "  for sizes %s\n"
+            + "  median times %s ns\n",
+            declared,
+            order,
+            Arrays.toString(SIZES),
+            Arrays.toString(medians)));
+      }
+    }
+  }
+
+  private static long[] measure(Creator creator, Timed timed) throws Throwable {
+    for (int warmup = 0; warmup < WARMUPS; warmup++) {
+      for (int size : SIZES) {
+        timed.nanosFor(creator, size);
+      }
+    }
+    long[][] times = new long[SIZES.length][REPETITIONS];
+    for (int repetition = 0; repetition < REPETITIONS; repetition++) {
+      for (int i = 0; i < SIZES.length; i++) {
+        times[i][repetition] = timed.nanosFor(creator, SIZES[i]);
+      }
+    }
+    long[] medians = new long[SIZES.length];
+    for (int i = 0; i < SIZES.length; i++) {
+      sort(times[i]);
+      medians[i] = times[i][REPETITIONS / 2];
+    }
+    return medians;
+  }
+
+  /** Least squares slope of log time against log size. */
+  private static double order(long[] medians) {
+    int count = SIZES.length;
+    double sumX = 0, sumY = 0;
+    for (int i = 0; i < count; i++) {
+      sumX += log(SIZES[i]);
+      sumY += log(medians[i]);
+    }
+    double meanX = sumX / count, meanY = sumY / count;
+    double covariance = 0, variance = 0;
+    for (int i = 0; i < count; i++) {
+      double dx = log(SIZES[i]) - meanX;
+      covariance += dx * (log(medians[i]) - meanY);
+      variance += dx * dx;
+    }
+    return covariance / variance;
+  }
+
+  private static double log(long value) {
+    return Math.log(Math.max(1, value));
+  }
+}
@@ -1,31 +1,46 @@
 package org.quackery.contract.collection;
 
+import static java.util.Collections.sort;
 import static java.util.Collections.unmodifiableSet;
 import static org.quackery.QuackeryException.check;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 public class Configuration {
-  private final boolean immutable, forbiddingNull;
+  private final boolean immutable, forbiddingNull, complexity, randomized;
   private final Set<Class<?>> implementing;
   private final String factoryName;
+  private final long seed;
+  private final int cases, operations;
 
   public Configuration() {
     immutable = false;
     forbiddingNull = false;
     implementing = unmodifiableSet(new HashSet<Class<?>>());
     factoryName = null;
+    complexity = false;
+    randomized = false;
+    seed = 0;
+    cases = 0;
+    operations = 0;
   }
 
   private Configuration(boolean immutable, boolean forbiddingNull,
-      Set<Class<?>> implementing, String factoryName) {
+      Set<Class<?>> implementing, String factoryName, boolean complexity,
+      boolean randomized, long seed, int cases, int operations) {
     this.immutable = immutable;
     this.forbiddingNull = forbiddingNull;
     this.implementing = implementing;
     this.factoryName = factoryName;
+    this.complexity = complexity;
+    this.randomized = randomized;
+    this.seed = seed;
+    this.cases = cases;
+    this.operations = operations;
   }
 
   public Configuration implementing(Class<?> type) {
@@ -34,7 +49,8 @@ public class Configuration {
     Set<Class<?>> newImplementing = new HashSet<>(implementing);
     newImplementing.add(type);
     return new Configuration(immutable, forbiddingNull,
-        unmodifiableSet(newImplementing), factoryName);
+        unmodifiableSet(newImplementing), factoryName, complexity,
+        randomized, seed, cases, operations);
   }
 
   private static boolean canBeImplemented(Class<?> type) {
@@ -43,18 +59,35 @@ public class Configuration {
 
   public Configuration immutable() {
     check(immutable == false);
-    return new Configuration(true, forbiddingNull, implementing, factoryName);
+    return new Configuration(true, forbiddingNull, implementing, factoryName, complexity,
+        randomized, seed, cases, operations);
   }
 
   public Configuration forbidding(Void object) {
     check(forbiddingNull == false);
-    return new Configuration(immutable, true, implementing, factoryName);
+    return new Configuration(immutable, true, implementing, factoryName, complexity,
+        randomized, seed, cases, operations);
   }
 
   public Configuration withFactory(String methodName) {
     check(methodName != null);
     check(factoryName == null);
-    return new Configuration(immutable, forbiddingNull, implementing, methodName);
+    return new Configuration(immutable, forbiddingNull, implementing, methodName, complexity,
+        randomized, seed, cases, operations);
+  }
+
+  public Configuration withComplexity() {
+    check(complexity == false);
+    return new Configuration(immutable, forbiddingNull, implementing, factoryName, true,
+        randomized, seed, cases, operations);
+  }
+
+  public Configuration randomized(long seed, int cases, int operations) {
+    check(randomized == false);
+    check(cases > 0);
+    check(operations > 0);
+    return new Configuration(immutable, forbiddingNull, implementing, factoryName, complexity,
+        true, seed, cases, operations);
   }
 
   public boolean isImplementing(Class<?> type) {
@@ -81,9 +114,46 @@ public class Configuration {
     return forbiddingNull;
   }
 
+  public boolean hasComplexity() {
+    return complexity;
+  }
+
+  public boolean isRandomized() {
+    return randomized;
+  }
+
+  public long getSeed() {
+    return seed;
+  }
+
+  public int getCases() {
+    return cases;
+  }
+
+  public int getOperations() {
+    return operations;
+  }
+
   public Class<?> getCollectionType() {
     return implementing.contains(List.class)
         ? List.class
         : Collection.class;
   }
+
+  /** Describes every option, so equal configurations have equal descriptions. */
+  public String toString() {
+    List<String> names = new ArrayList<>();
+    for (Class<?> type : implementing) {
+      names.add(type.getName());
+    }
+    sort(names);
+    return "Configuration(immutable=" + immutable
+        + ", forbiddingNull=" + forbiddingNull
+        + ", implementing=" + names
+        + ", factory=" + factoryName
+        + ", complexity=" + complexity
+        + ", seed=" + (randomized ? seed : null)
+        + ", cases=" + (randomized ? cases : null)
+        + ", operations=" + (randomized ? operations : null) + ")";
+  }
 }
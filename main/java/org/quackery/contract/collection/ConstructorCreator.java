@@ -1,14 +1,31 @@
 package org.quackery.contract.collection;
 
+import static java.lang.reflect.Modifier.isAbstract;
+import static org.quackery.contract.collection.Resolved.failed;
+import static org.quackery.contract.collection.Resolved.resolved;
 import static org.quackery.report.AssumeException.assume;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandles;
 import java.util.Collection;
 
-import org.quackery.report.AssumeException;
-
 public class ConstructorCreator implements Creator {
+  /** Constructors are looked up once per class, with access of this class, like reflection did. */
+  private static final ClassValue<Resolved> CONSTRUCTORS = new ClassValue<Resolved>() {
+    protected Resolved computeValue(Class<?> type) {
+      try {
+        if (isAbstract(type.getModifiers())) {
+          throw new InstantiationException(type.getName());
+        }
+        return resolved(
+            MethodHandles.lookup().unreflectConstructor(type.getConstructor(Collection.class)),
+            type,
+            true);
+      } catch (ReflectiveOperationException e) {
+        return failed(e);
+      }
+    }
+  };
+
   private final Class<?> type;
 
   public ConstructorCreator(Class<?> type) {
@@ -17,13 +34,6 @@ public class ConstructorCreator implements Creator {
 
   public <T> T create(Class<T> cast, Object original) throws Throwable {
     assume(cast.isAssignableFrom(type));
-    try {
-      Constructor<?> constructor = type.getConstructor(Collection.class);
-      return cast.cast(constructor.newInstance(original));
-    } catch (NoSuchMethodException | IllegalAccessException | InstantiationException e) {
-      throw new AssumeException(e);
-    } catch (InvocationTargetException e) {
-      throw e.getCause();
-    }
+    return cast.cast(CONSTRUCTORS.get(type).invoke(original));
   }
 }
@@ -1,15 +1,24 @@
 package org.quackery.contract.collection;
 
+import static java.lang.reflect.Modifier.isStatic;
+import static org.quackery.contract.collection.Resolved.failed;
+import static org.quackery.contract.collection.Resolved.resolved;
 import static org.quackery.report.AssumeException.assume;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
 import java.util.Collection;
-
-import org.quackery.report.AssumeException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class FactoryCreator implements Creator {
+  /** Factories are looked up once per class and method name, with access of this class. */
+  private static final ClassValue<Map<String, Resolved>> FACTORIES = new ClassValue<Map<String, Resolved>>() {
+    protected Map<String, Resolved> computeValue(Class<?> type) {
+      return new ConcurrentHashMap<>();
+    }
+  };
+
   private final Class<?> type;
   private final String methodName;
 
@@ -19,15 +28,22 @@ public class FactoryCreator implements Creator {
   }
 
   public <T> T create(Class<T> cast, Object original) throws Throwable {
+    Resolved factory = FACTORIES.get(type).computeIfAbsent(methodName, name -> resolve(type, name));
+    assume(cast.isAssignableFrom(factory.getReturnType()));
+    assume(factory.isStatic());
+    return cast.cast(factory.invoke(original));
+  }
+
+  private static Resolved resolve(Class<?> type, String methodName) {
     try {
       Method method = type.getMethod(methodName, Collection.class);
-      assume(cast.isAssignableFrom(method.getReturnType()));
-      assume(Modifier.isStatic(method.getModifiers()));
-      return cast.cast(method.invoke(null, original));
-    } catch (NoSuchMethodException | IllegalAccessException e) {
-      throw new AssumeException(e);
-    } catch (InvocationTargetException e) {
-      throw e.getCause();
+      boolean isStatic = isStatic(method.getModifiers());
+      return resolved(
+          isStatic ? MethodHandles.lookup().unreflect(method) : null,
+          method.getReturnType(),
+          isStatic);
+    } catch (ReflectiveOperationException e) {
+      return failed(e);
     }
   }
 }
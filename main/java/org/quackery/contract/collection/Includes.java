@@ -1,8 +1,12 @@
 package org.quackery.contract.collection;
 
-import static java.util.stream.Collectors.toList;
+import static org.quackery.Suite.generated;
 import static org.quackery.Suite.suite;
-import static org.quackery.help.Helpers.traverseSuites;
+import static org.quackery.help.Helpers.isGenerated;
+import static org.quackery.help.Helpers.traverse;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import org.quackery.Test;
 
@@ -14,12 +18,23 @@ public class Includes {
   }
 
   public static Test filterIncluded(Test test) {
-    return traverseSuites(test,
-        (name, children) -> suite(name)
-            .addAll(children.stream()
-                .map(child -> filterIncluded(child))
-                .filter(child -> !isEmptySuite(child))
-                .collect(toList())));
+    return traverse(test,
+        node -> node.visit(
+            (name, body) -> node,
+            (name, children) -> isGenerated(node)
+                ? generated(name, () -> children.stream()
+                    .filter(child -> !isEmptySuite(child)))
+                : suite(name).addAll(included(children))));
+  }
+
+  private static List<Test> included(List<Test> children) {
+    List<Test> included = new ArrayList<>(children.size());
+    for (Test child : children) {
+      if (!isEmptySuite(child)) {
+        included.add(child);
+      }
+    }
+    return included;
   }
 
   private static boolean isEmptySuite(Test test) {
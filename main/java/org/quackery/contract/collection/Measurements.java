@@ -0,0 +1,80 @@
+package org.quackery.contract.collection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * Timed operations shared by complexity and benchmark cases. Results of operations are accumulated
+ * in volatile sink, so jit cannot eliminate them.
+ */
+class Measurements {
+  private static volatile long sink;
+
+  /** Operation timed on collection of given size created by creator, returns nanos it took. */
+  interface Timed {
+    long nanosFor(Creator creator, int size) throws Throwable;
+  }
+
+  static void consume(long value) {
+    sink += value;
+  }
+
+  static long timeAdd(Creator creator, int size) throws Throwable {
+    ArrayList<Object> elements = elements(size);
+    Collection<Object> collection = creator.create(Collection.class, new ArrayList<>());
+    long start = System.nanoTime();
+    for (Object element : elements) {
+      collection.add(element);
+    }
+    long time = System.nanoTime() - start;
+    consume(collection.size());
+    return time;
+  }
+
+  static long timeContains(Creator creator, int size, int calls) throws Throwable {
+    ArrayList<Object> elements = elements(size);
+    Collection<?> collection = creator.create(Collection.class, elements);
+    Object[] queries = new Object[calls];
+    for (int i = 0; i < calls; i++) {
+      queries[i] = elements.get(spread(i, size));
+    }
+    long found = 0;
+    long start = System.nanoTime();
+    for (Object query : queries) {
+      if (collection.contains(query)) {
+        found++;
+      }
+    }
+    long time = System.nanoTime() - start;
+    consume(found);
+    return time;
+  }
+
+  /** Removes all elements, so time is size times time of single removal. */
+  static long timeIteratorRemove(Creator creator, int size) throws Throwable {
+    Collection<?> collection = creator.create(Collection.class, elements(size));
+    long start = System.nanoTime();
+    Iterator<?> iterator = collection.iterator();
+    while (iterator.hasNext()) {
+      iterator.next();
+      iterator.remove();
+    }
+    long time = System.nanoTime() - start;
+    consume(collection.size());
+    return time;
+  }
+
+  static ArrayList<Object> elements(int size) {
+    ArrayList<Object> elements = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      elements.add(i);
+    }
+    return elements;
+  }
+
+  /** Indexes spread over whole collection, so average one is in its middle. */
+  static int spread(int call, int size) {
+    return (int) ((long) call * 7919 % size);
+  }
+}
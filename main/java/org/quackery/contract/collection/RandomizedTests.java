@@ -0,0 +1,571 @@
+package org.quackery.contract.collection;
+
+import static java.lang.String.format;
+import static org.quackery.Case.newCase;
+import static org.quackery.Suite.suite;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+import org.quackery.Suite;
+import org.quackery.Test;
+import org.quackery.report.AssertException;
+import org.quackery.report.AssumeException;
+
+/**
+ * Cases running long random sequences of operations on tested collection and on model, which is
+ * ArrayList, comparing results and contents after each operation. Each case has its own seed, so
+ * cases are independent and can run concurrently. Operations choose index only when applied, as
+ * remainder of size of collection, so any subsequence of operations is still valid. Failing
+ * sequence is shrunk by removing chunks of elements and operations while it keeps failing. If it
+ * does not fail when replayed, because collection does not behave deterministically, original
+ * failure is reported.
+ * Collections that are not lists can ignore duplicates and order, so they get only distinct
+ * elements and their contents are compared regardless of order.
+ */
+public class RandomizedTests {
+  private static final int INITIAL = 20;
+  private static final int SPREAD = 16;
+  private static final int MAX_REPLAYS = 10_000;
+  private static final Object SKIPPED = new Object();
+
+  public static Test randomizedTests(Creator creator, long seed, int cases, int operations,
+      boolean immutable, boolean forbiddingNull, boolean isList) {
+    Suite suite = suite("behaves like model");
+    for (int i = 0; i < cases; i++) {
+      long caseSeed = seed + i;
+      suite = suite.add(newCase("seed " + caseSeed, () -> {
+        Scenario scenario = new Generator(new Random(caseSeed), immutable, forbiddingNull, isList)
+            .generate(operations);
+        Failure failure = replay(creator, isList, scenario, false);
+        if (failure != null) {
+          String failedAt = failure.step < 0
+              ? "creation"
+              : format("operation %s of %s", failure.step + 1, operations);
+          Scenario minimal = shrink(creator, isList, scenario.truncate(failure.step));
+          Failure minimalFailure = replay(creator, isList, minimal, true);
+          if (minimalFailure == null) {
+            throw new AssertException(format(""
+                + "\n"
+                + "  seed %s failed at %s\n"
+                + "  but failure did not repeat when replayed\n"
+                + "%s",
+                caseSeed,
+                failedAt,
+                String.join("", failure.log)),
+                failure.cause);
+          }
+          throw new AssertException(format(""
+              + "\n"
+              + "  seed %s failed at %s\n"
+              + "  minimal sequence of %s operations\n"
+              + "%s",
+              caseSeed,
+              failedAt,
+              minimal.operations.size(),
+              String.join("", minimalFailure.log)),
+              minimalFailure.cause);
+        }
+      }));
+    }
+    return suite;
+  }
+
+  private static Scenario shrink(Creator creator, boolean isList, Scenario scenario)
+      throws Throwable {
+    Scenario shrunk = scenario;
+    int replays = 0;
+    for (boolean progress = true; progress && replays < MAX_REPLAYS;) {
+      progress = false;
+      for (boolean elements : new boolean[] { false, true }) {
+        int length = elements ? shrunk.initial.size() : shrunk.operations.size();
+        for (int chunk = Math.max(1, length / 2); chunk >= 1 && replays < MAX_REPLAYS; chunk /= 2) {
+          for (int from = 0; from < length && replays < MAX_REPLAYS;) {
+            Scenario candidate = shrunk.without(elements, from, Math.min(length, from + chunk));
+            replays++;
+            Failure failure = replay(creator, isList, candidate, false);
+            if (failure != null) {
+              shrunk = candidate.truncate(failure.step);
+              length = elements ? shrunk.initial.size() : shrunk.operations.size();
+              progress = true;
+            } else {
+              from += chunk;
+            }
+          }
+        }
+      }
+    }
+    return shrunk;
+  }
+
+  /** Returns failure of first operation that differs from model, or null. */
+  private static Failure replay(Creator creator, boolean isList, Scenario scenario,
+      boolean logging) throws Throwable {
+    List<String> log = new ArrayList<>();
+    List<Object> model = new ArrayList<>(scenario.initial);
+    Collection<Object> tested;
+    try {
+      tested = isList
+          ? creator.create(List.class, new ArrayList<>(scenario.initial))
+          : creator.create(Collection.class, new ArrayList<>(scenario.initial));
+    } catch (AssumeException e) {
+      throw e;
+    } catch (Throwable throwable) {
+      log.add(format("    create %s threw %s\n", scenario.initial, throwable));
+      return new Failure(-1, log, throwable);
+    }
+    if (logging) {
+      log.add(format("    create %s\n", scenario.initial));
+    }
+    String mismatch = compare(tested, model, isList);
+    if (mismatch != null) {
+      log.add(format("    create %s %s\n", scenario.initial, mismatch));
+      return new Failure(-1, log, null);
+    }
+    for (int step = 0; step < scenario.operations.size(); step++) {
+      Operation operation = scenario.operations.get(step);
+      int size = model.size();
+      Object expected = operation.apply(model);
+      Object actual;
+      try {
+        actual = operation.apply(tested);
+      } catch (Throwable throwable) {
+        log.add(format("    %s threw %s\n", operation.describe(size), throwable));
+        return new Failure(step, log, throwable);
+      }
+      if (!Objects.equals(actual, expected)) {
+        log.add(format("    %s returned %s but expected %s\n",
+            operation.describe(size), actual, expected));
+        return new Failure(step, log, null);
+      }
+      mismatch = compare(tested, model, isList);
+      if (mismatch != null) {
+        log.add(format("    %s %s\n", operation.describe(size), mismatch));
+        return new Failure(step, log, null);
+      }
+      if (logging) {
+        log.add(format("    %s\n", operation.describe(size)));
+      }
+    }
+    return null;
+  }
+
+  private static String compare(Collection<Object> tested, List<Object> model, boolean isList) {
+    List<Object> contents = new ArrayList<>(model.size());
+    for (Object element : tested) {
+      contents.add(element);
+    }
+    boolean equal = tested.size() == model.size()
+        && (isList
+            ? contents.equals(model)
+            : sorted(contents).equals(sorted(model)));
+    return equal
+        ? null
+        : format("left %s of size %s but expected %s", contents, tested.size(), model);
+  }
+
+  /** Collections that are not lists contain only integers, so they can be sorted. */
+  private static List<Object> sorted(List<Object> elements) {
+    Object[] array = elements.toArray();
+    Arrays.sort(array);
+    return Arrays.asList(array);
+  }
+
+  private static class Failure {
+    private final int step;
+    private final List<String> log;
+    private final Throwable cause;
+
+    private Failure(int step, List<String> log, Throwable cause) {
+      this.step = step;
+      this.log = log;
+      this.cause = cause;
+    }
+  }
+
+  private static class Scenario {
+    private final List<Object> initial;
+    private final List<Operation> operations;
+
+    private Scenario(List<Object> initial, List<Operation> operations) {
+      this.initial = initial;
+      this.operations = operations;
+    }
+
+    /** Keeps operations up to failing one, including it. */
+    private Scenario truncate(int step) {
+      return new Scenario(initial, new ArrayList<>(operations.subList(0, step + 1)));
+    }
+
+    private Scenario without(boolean elements, int from, int to) {
+      return elements
+          ? new Scenario(without(initial, from, to), operations)
+          : new Scenario(initial, without(operations, from, to));
+    }
+
+    private static <E> List<E> without(List<E> list, int from, int to) {
+      List<E> removed = new ArrayList<>(list.subList(0, from));
+      removed.addAll(list.subList(to, list.size()));
+      return removed;
+    }
+  }
+
+  private static class Generator {
+    private final Random random;
+    private final boolean immutable, forbiddingNull, isList;
+    private int fresh;
+
+    private Generator(Random random, boolean immutable, boolean forbiddingNull, boolean isList) {
+      this.random = random;
+      this.immutable = immutable;
+      this.forbiddingNull = forbiddingNull;
+      this.isList = isList;
+    }
+
+    private Scenario generate(int count) {
+      List<Object> initial = new ArrayList<>();
+      for (int i = random.nextInt(INITIAL + 1); i > 0; i--) {
+        initial.add(newElement());
+      }
+      List<Operation> operations = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        operations.add(newOperation());
+      }
+      return new Scenario(initial, operations);
+    }
+
+    /** Lists get few distinct elements, so they repeat, other collections get distinct ones. */
+    private Object newElement() {
+      return isList
+          ? !forbiddingNull && random.nextInt(SPREAD) == 0
+              ? null
+              : (Object) random.nextInt(SPREAD)
+          : (Object) fresh++;
+    }
+
+    /** Element that may or may not be in collection. */
+    private Object anyElement() {
+      return isList
+          ? newElement()
+          : (Object) random.nextInt(fresh + 2);
+    }
+
+    private Operation newOperation() {
+      int position = random.nextInt(Integer.MAX_VALUE);
+      int choice = random.nextInt(immutable ? 4 : 10);
+      if (isList && random.nextInt(3) == 0) {
+        return newListOperation(position);
+      }
+      switch (choice) {
+        case 0:
+          return new Contains(anyElement());
+        case 1:
+          return new Size();
+        case 2:
+          return new IsEmpty();
+        case 3:
+          return new Contains(anyElement());
+        case 4:
+        case 5:
+          return new Add(newElement());
+        case 6:
+          return new Remove(anyElement());
+        case 7:
+          return new IteratorRemove(anyElement());
+        case 8:
+          List<Object> elements = new ArrayList<>();
+          for (int i = random.nextInt(4); i > 0; i--) {
+            elements.add(newElement());
+          }
+          return new AddAll(elements);
+        default:
+          return random.nextInt(20) == 0
+              ? new Clear()
+              : new Remove(anyElement());
+      }
+    }
+
+    private Operation newListOperation(int position) {
+      switch (random.nextInt(immutable ? 3 : 6)) {
+        case 0:
+          return new Get(position);
+        case 1:
+          return new IndexOf(anyElement());
+        case 2:
+          return new LastIndexOf(anyElement());
+        case 3:
+          return new SetAt(position, newElement());
+        case 4:
+          return new AddAt(position, newElement());
+        default:
+          return new RemoveAt(position);
+      }
+    }
+  }
+
+  private static abstract class Operation {
+    abstract Object apply(Collection<Object> collection);
+
+    /** Describes operation as applied to collection of given size. */
+    String describe(int size) {
+      return toString();
+    }
+  }
+
+  private static abstract class Indexed extends Operation {
+    final int position;
+
+    Indexed(int position) {
+      this.position = position;
+    }
+
+    /** Index of existing element, or -1 if there is none. */
+    int index(int size) {
+      return size == 0
+          ? -1
+          : position % size;
+    }
+
+    int index(Collection<Object> collection) {
+      return index(collection.size());
+    }
+
+    abstract String describeAt(int index);
+
+    String describe(int size) {
+      return describeAt(index(size));
+    }
+  }
+
+  private static class Add extends Operation {
+    private final Object element;
+
+    Add(Object element) {
+      this.element = element;
+    }
+
+    Object apply(Collection<Object> collection) {
+      return collection.add(element);
+    }
+
+    public String toString() {
+      return format("add(%s)", element);
+    }
+  }
+
+  private static class AddAll extends Operation {
+    private final List<Object> elements;
+
+    AddAll(List<Object> elements) {
+      this.elements = elements;
+    }
+
+    Object apply(Collection<Object> collection) {
+      return collection.addAll(new ArrayList<>(elements));
+    }
+
+    public String toString() {
+      return format("addAll(%s)", elements);
+    }
+  }
+
+  private static class Remove extends Operation {
+    private final Object element;
+
+    Remove(Object element) {
+      this.element = element;
+    }
+
+    Object apply(Collection<Object> collection) {
+      return collection.remove(element);
+    }
+
+    public String toString() {
+      return format("remove(%s)", element);
+    }
+  }
+
+  private static class IteratorRemove extends Operation {
+    private final Object element;
+
+    IteratorRemove(Object element) {
+      this.element = element;
+    }
+
+    Object apply(Collection<Object> collection) {
+      Iterator<Object> iterator = collection.iterator();
+      while (iterator.hasNext()) {
+        if (Objects.equals(iterator.next(), element)) {
+          iterator.remove();
+          return true;
+        }
+      }
+      return false;
+    }
+
+    public String toString() {
+      return format("iterator().remove() of %s", element);
+    }
+  }
+
+  private static class Contains extends Operation {
+    private final Object element;
+
+    Contains(Object element) {
+      this.element = element;
+    }
+
+    Object apply(Collection<Object> collection) {
+      return collection.contains(element);
+    }
+
+    public String toString() {
+      return format("contains(%s)", element);
+    }
+  }
+
+  private static class Size extends Operation {
+    Object apply(Collection<Object> collection) {
+      return collection.size();
+    }
+
+    public String toString() {
+      return "size()";
+    }
+  }
+
+  private static class IsEmpty extends Operation {
+    Object apply(Collection<Object> collection) {
+      return collection.isEmpty();
+    }
+
+    public String toString() {
+      return "isEmpty()";
+    }
+  }
+
+  private static class Clear extends Operation {
+    Object apply(Collection<Object> collection) {
+      collection.clear();
+      return null;
+    }
+
+    public String toString() {
+      return "clear()";
+    }
+  }
+
+  private static class IndexOf extends Operation {
+    private final Object element;
+
+    IndexOf(Object element) {
+      this.element = element;
+    }
+
+    Object apply(Collection<Object> collection) {
+      return ((List<Object>) collection).indexOf(element);
+    }
+
+    public String toString() {
+      return format("indexOf(%s)", element);
+    }
+  }
+
+  private static class LastIndexOf extends Operation {
+    private final Object element;
+
+    LastIndexOf(Object element) {
+      this.element = element;
+    }
+
+    Object apply(Collection<Object> collection) {
+      return ((List<Object>) collection).lastIndexOf(element);
+    }
+
+    public String toString() {
+      return format("lastIndexOf(%s)", element);
+    }
+  }
+
+  private static class Get extends Indexed {
+    Get(int position) {
+      super(position);
+    }
+
+    Object apply(Collection<Object> collection) {
+      int index = index(collection);
+      return index < 0
+          ? SKIPPED
+          : ((List<Object>) collection).get(index);
+    }
+
+    String describeAt(int index) {
+      return index < 0 ? "get skipped" : format("get(index %s)", index);
+    }
+  }
+
+  private static class SetAt extends Indexed {
+    private final Object element;
+
+    SetAt(int position, Object element) {
+      super(position);
+      this.element = element;
+    }
+
+    Object apply(Collection<Object> collection) {
+      int index = index(collection);
+      return index < 0
+          ? SKIPPED
+          : ((List<Object>) collection).set(index, element);
+    }
+
+    String describeAt(int index) {
+      return index < 0 ? "set skipped" : format("set(index %s, %s)", index, element);
+    }
+  }
+
+  private static class RemoveAt extends Indexed {
+    RemoveAt(int position) {
+      super(position);
+    }
+
+    Object apply(Collection<Object> collection) {
+      int index = index(collection);
+      return index < 0
+          ? SKIPPED
+          : ((List<Object>) collection).remove(index);
+    }
+
+    String describeAt(int index) {
+      return index < 0 ? "remove skipped" : format("remove(index %s)", index);
+    }
+  }
+
+  /** Can add at the end, so index is chosen from one more position. */
+  private static class AddAt extends Indexed {
+    private final Object element;
+
+    AddAt(int position, Object element) {
+      super(position);
+      this.element = element;
+    }
+
+    int index(int size) {
+      return position % (size + 1);
+    }
+
+    Object apply(Collection<Object> collection) {
+      ((List<Object>) collection).add(index(collection), element);
+      return null;
+    }
+
+    String describeAt(int index) {
+      return format("add(index %s, %s)", index, element);
+    }
+  }
+}
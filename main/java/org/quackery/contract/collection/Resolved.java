@@ -0,0 +1,58 @@
+package org.quackery.contract.collection;
+
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.invoke.MethodHandle;
+
+import org.quackery.report.AssumeException;
+
+/**
+ * Result of looking up creating member once. Handle takes and returns Object, so it can be invoked
+ * exactly. Lookup failure is kept, so each creation is misassumption, like when looking up again.
+ */
+class Resolved {
+  private final MethodHandle handle;
+  private final Class<?> returnType;
+  private final boolean isStatic;
+  private final ReflectiveOperationException failure;
+
+  private Resolved(MethodHandle handle, Class<?> returnType, boolean isStatic,
+      ReflectiveOperationException failure) {
+    this.handle = handle;
+    this.returnType = returnType;
+    this.isStatic = isStatic;
+    this.failure = failure;
+  }
+
+  public static Resolved resolved(MethodHandle handle, Class<?> returnType, boolean isStatic) {
+    MethodHandle generic = handle == null
+        ? null
+        : handle.asType(methodType(Object.class, Object.class));
+    return new Resolved(generic, returnType, isStatic, null);
+  }
+
+  public static Resolved failed(ReflectiveOperationException failure) {
+    return new Resolved(null, null, false, failure);
+  }
+
+  public Class<?> getReturnType() {
+    checkFailure();
+    return returnType;
+  }
+
+  public boolean isStatic() {
+    checkFailure();
+    return isStatic;
+  }
+
+  public Object invoke(Object argument) throws Throwable {
+    checkFailure();
+    return (Object) handle.invokeExact(argument);
+  }
+
+  private void checkFailure() {
+    if (failure != null) {
+      throw new AssumeException(failure);
+    }
+  }
+}
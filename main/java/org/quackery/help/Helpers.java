@@ -1,16 +1,24 @@
 package org.quackery.help;
 
-import static java.util.stream.Collectors.toList;
 import static org.quackery.Case.newCase;
+import static org.quackery.Suite.generated;
 import static org.quackery.Suite.suite;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 import org.quackery.Body;
+import org.quackery.Suite;
 import org.quackery.Test;
+import org.quackery.report.Result;
 
 public class Helpers {
   public static Test successfulCase(String name) {
@@ -24,6 +32,9 @@ public class Helpers {
   }
 
   public static Optional<Throwable> thrownBy(Body body) {
+    if (body instanceof Result) {
+      return ((Result) body).getThrown();
+    }
     try {
       body.run();
       return Optional.empty();
@@ -32,13 +43,93 @@ public class Helpers {
     }
   }
 
-  public static Test traverse(Test test, Function<Test, Test> handler) {
+  public static boolean isGenerated(Test test) {
+    return test instanceof Suite && ((Suite) test).isGenerated();
+  }
+
+  public static boolean isSuite(Test test) {
     return test.visit(
-        (name, body) -> handler.apply(test),
-        (name, children) -> handler.apply(suite(name)
-            .addAll(children.stream()
-                .map(child -> traverse(child, handler))
-                .collect(toList()))));
+        (name, body) -> false,
+        (name, children) -> true);
+  }
+
+  /**
+   * Visits tests in depth-first order using explicit stack, so depth of tree is not limited by
+   * depth of call stack. Children of suite are visited only if enter returns true. Leave is called
+   * for every entered test after all its visited children were left.
+   */
+  public static void walk(Test root, Predicate<Test> enter, Consumer<Test> leave) {
+    Deque<Frame> stack = new ArrayDeque<>();
+    enterOrLeave(root, enter, leave, stack);
+    while (!stack.isEmpty()) {
+      Frame frame = stack.peek();
+      if (frame.children.hasNext()) {
+        enterOrLeave(frame.children.next(), enter, leave, stack);
+      } else {
+        stack.pop();
+        leave.accept(frame.suite);
+      }
+    }
+  }
+
+  private static void enterOrLeave(Test test, Predicate<Test> enter, Consumer<Test> leave, Deque<Frame> stack) {
+    List<Test> children = test.visit(
+        (name, body) -> null,
+        (name, suiteChildren) -> suiteChildren);
+    if (enter.test(test) && children != null) {
+      stack.push(new Frame(test, children.iterator()));
+    } else {
+      leave.accept(test);
+    }
+  }
+
+  private static class Frame {
+    private final Test suite;
+    private final Iterator<Test> children;
+
+    private Frame(Test suite, Iterator<Test> children) {
+      this.suite = suite;
+      this.children = children;
+    }
+  }
+
+  public static Test traverse(Test root, Function<Test, Test> handler) {
+    Deque<List<Test>> traversed = new ArrayDeque<>();
+    traversed.push(new ArrayList<>(1));
+    walk(root,
+        test -> {
+          boolean descend = test.visit(
+              (name, body) -> false,
+              (name, children) -> !isGenerated(test));
+          if (descend) {
+            traversed.push(new ArrayList<>());
+          }
+          return descend;
+        },
+        test -> {
+          Test rebuilt = test.visit(
+              (name, body) -> test,
+              (name, children) -> isGenerated(test)
+                  ? generated(name, () -> children.stream()
+                      .map(child -> traverse(child, handler)))
+                  : rebuild(test, traversed.pop()));
+          traversed.peek().add(handler.apply(rebuilt));
+        });
+    return traversed.pop().get(0);
+  }
+
+  /** Reuses suite if none of its children was replaced, so handler that changes nothing copies nothing. */
+  private static Test rebuild(Test suite, List<Test> traversedChildren) {
+    return suite.visit(
+        (name, body) -> suite,
+        (name, children) -> {
+          for (int i = 0; i < traversedChildren.size(); i++) {
+            if (traversedChildren.get(i) != children.get(i)) {
+              return suite(name).addAll(traversedChildren);
+            }
+          }
+          return suite;
+        });
   }
 
   public static Test traverseCases(Test root, BiFunction<String, Body, Test> handler) {
@@ -59,11 +150,20 @@ public class Helpers {
     return traverse(root,
         test -> test.visit(
             (name, body) -> newCase(renamer.apply(name), body),
-            (name, children) -> suite(renamer.apply(name)).addAll(children)));
+            (name, children) -> isGenerated(test)
+                ? generated(renamer.apply(name), children::stream)
+                : suite(renamer.apply(name)).addAll(children)));
   }
 
   public static Test traverseBodies(Test root, Function<Body, Body> handler) {
-    return traverseCases(root,
-        (name, body) -> newCase(name, handler.apply(body)));
+    return traverse(root,
+        test -> test.visit(
+            (name, body) -> {
+              Body handled = handler.apply(body);
+              return handled == body
+                  ? test
+                  : newCase(name, handled);
+            },
+            (name, children) -> test));
   }
 }
@@ -0,0 +1,17 @@
+package org.quackery.junit;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Makes QuackeryRunner run cases of annotated class concurrently, in given number of threads. Zero
+ * means one thread per available processor.
+ */
+@Retention(RUNTIME)
+@Target(TYPE)
+public @interface Concurrent {
+  int threads() default 0;
+}
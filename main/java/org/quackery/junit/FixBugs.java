@@ -1,35 +1,48 @@
 package org.quackery.junit;
 
+import static org.quackery.Case.newCase;
+import static org.quackery.Suite.generated;
 import static org.quackery.Suite.suite;
+import static org.quackery.help.Helpers.isGenerated;
 import static org.quackery.help.Helpers.successfulCase;
-import static org.quackery.help.Helpers.traverseNames;
-import static org.quackery.help.Helpers.traverseSuites;
+import static org.quackery.help.Helpers.traverse;
 
 import org.quackery.Test;
 
+/** Fixes all bugs in single traversal. Test that needs no fix is not copied. */
 public class FixBugs {
   public static Test fixBugs(Test root) {
-    return fixNewlineBug(fixEmptySuiteBug(fixEmptyNameBug(root)));
+    return traverse(root,
+        test -> test.visit(
+            (name, body) -> fixName(name).equals(name)
+                ? test
+                : newCase(fixName(name), body),
+            (name, children) -> children.isEmpty()
+                ? fixEmptySuiteBug(fixName(name))
+                : fixName(name).equals(name)
+                    ? test
+                    : isGenerated(test)
+                        ? generated(fixName(name), children::stream)
+                        : suite(fixName(name)).addAll(children)));
   }
 
-  private static Test fixNewlineBug(Test root) {
-    return traverseNames(root,
-        name -> name
-            .replace('\n', ' ')
-            .replace('\r', ' '));
+  private static String fixName(String name) {
+    return fixNewlineBug(fixEmptyNameBug(name));
   }
 
-  private static Test fixEmptySuiteBug(Test root) {
-    return traverseSuites(root,
-        (name, children) -> children.isEmpty()
-            ? successfulCase(name)
-            : suite(name).addAll(children));
+  private static Test fixEmptySuiteBug(String name) {
+    return successfulCase(name);
   }
 
-  private static Test fixEmptyNameBug(Test root) {
-    return traverseNames(root,
-        name -> name.isEmpty()
-            ? "[empty_name]"
-            : name);
+  private static String fixNewlineBug(String name) {
+    return name
+        .replace('\n', ' ')
+        .replace('\r', ' ');
+  }
+
+  private static String fixEmptyNameBug(String name) {
+    return name.isEmpty()
+        ? "[empty_name]"
+        : name;
   }
 }
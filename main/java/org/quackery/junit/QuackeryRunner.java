@@ -2,23 +2,39 @@ package org.quackery.junit;
 
 import static java.lang.reflect.Modifier.isPublic;
 import static java.lang.reflect.Modifier.isStatic;
+import static java.util.stream.Collectors.toList;
 import static org.junit.runner.Description.createSuiteDescription;
 import static org.junit.runner.Description.createTestDescription;
-import static org.quackery.Case.newCase;
 import static org.quackery.Suite.suite;
+import static org.quackery.common.ExecutorBuilder.executorBuilder;
 import static org.quackery.help.Helpers.failingCase;
-import static org.quackery.help.Helpers.traverse;
+import static org.quackery.help.Helpers.isSuite;
+import static org.quackery.help.Helpers.walk;
 import static org.quackery.junit.FixBugs.fixBugs;
 
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import org.junit.AssumptionViolatedException;
 import org.junit.runner.Description;
 import org.junit.runner.Runner;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.Filterable;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.manipulation.Sortable;
+import org.junit.runner.manipulation.Sorter;
 import org.junit.runner.notification.Failure;
 import org.junit.runner.notification.RunNotifier;
 import org.junit.runners.BlockJUnit4ClassRunner;
@@ -26,80 +42,417 @@ import org.junit.runners.model.InitializationError;
 import org.quackery.Body;
 import org.quackery.Quackery;
 import org.quackery.QuackeryException;
-import org.quackery.Suite;
 import org.quackery.Test;
 import org.quackery.report.AssertException;
 import org.quackery.report.AssumeException;
-import org.quackery.run.Runners;
 
-public class QuackeryRunner extends Runner {
+public class QuackeryRunner extends Runner implements Filterable, Sortable {
   private final Class<?> annotatedClass;
+  private InitializationError initializationError;
+  private final List<Node> nodes = new ArrayList<>();
+  private final boolean hasNoQuackeryTests;
   private Description description;
   private Runner junitRunner;
   private Test quackeryTest;
+  private Description quackeryDescription;
 
-  /** This constructor is required by Runner contract and is invoked by junit. */
+  /**
+   * This constructor is required by Runner contract and is invoked by junit. Quackery methods are
+   * not invoked until their tests are needed, each separately, so methods that get filtered out
+   * are never invoked.
+   */
   public QuackeryRunner(Class<?> annotatedClass) {
     this.annotatedClass = annotatedClass;
     try {
       junitRunner = new BlockJUnit4ClassRunner(annotatedClass);
-      description = junitRunner.getDescription();
-      quackeryTest = fixBugs(instantiateQuackerySuite(annotatedClass));
-      for (Description childDescription : describe(quackeryTest).getChildren()) {
-        description.addChild(childDescription);
-      }
     } catch (InitializationError error) {
-      quackeryTest = fixBugs(instantiateQuackerySuite(annotatedClass)
-          .addAll(instantiateFailingTestsExplainingCausesOf(error)));
-      description = describe(quackeryTest);
+      initializationError = error;
+    }
+    for (Method method : quackeryMethods(annotatedClass)) {
+      nodes.add(new Node(method));
+    }
+    if (initializationError != null) {
+      for (Test test : instantiateFailingTestsExplainingCausesOf(initializationError)) {
+        nodes.add(new Node(fixBugs(test)));
+      }
+    }
+    hasNoQuackeryTests = nodes.isEmpty();
+    if (hasNoQuackeryTests) {
+      nodes.add(new Node(fixBugs(suite(annotatedClass.getName()))));
     }
   }
 
+  /** Methods are sorted by name, because order of declared methods is not specified. */
+  private static List<Method> quackeryMethods(Class<?> testClass) {
+    List<Method> methods = new ArrayList<>();
+    for (Method method : testClass.getDeclaredMethods()) {
+      if (method.isAnnotationPresent(Quackery.class)) {
+        methods.add(method);
+      }
+    }
+    methods.sort(Comparator.comparing(Method::getName));
+    return methods;
+  }
+
+  /**
+   * Root suite is named after class and contains tests of all nodes. Class without quackery tests
+   * has single successful case instead, named after class.
+   */
+  private void assemble() {
+    if (description != null) {
+      return;
+    }
+    if (nodes.isEmpty()) {
+      quackeryTest = null;
+      quackeryDescription = null;
+    } else if (hasNoQuackeryTests) {
+      quackeryTest = nodes.get(0).test();
+      quackeryDescription = nodes.get(0).description();
+    } else {
+      List<Test> tests = new ArrayList<>();
+      for (Node node : nodes) {
+        tests.add(node.test());
+      }
+      quackeryTest = suite(annotatedClass.getName()).addAll(tests);
+      quackeryDescription = createSuiteDescription(annotatedClass.getName(), id(quackeryTest));
+      for (Node node : nodes) {
+        quackeryDescription.addChild(node.description());
+      }
+    }
+    description = combineDescriptions();
+  }
+
+  private Description combineDescriptions() {
+    if (initializationError != null) {
+      return quackeryDescription != null
+          ? quackeryDescription
+          : createSuiteDescription(annotatedClass);
+    }
+    Description combined = junitRunner != null
+        ? junitRunner.getDescription()
+        : createSuiteDescription(annotatedClass);
+    if (quackeryDescription != null) {
+      for (Description childDescription : quackeryDescription.getChildren()) {
+        combined.addChild(childDescription);
+      }
+    }
+    return combined;
+  }
+
   public Description getDescription() {
+    assemble();
     return description;
   }
 
-  public void run(RunNotifier notifier) {
-    Test notifyingQuackeryTest = traverse(quackeryTest,
-        test -> test.visit(
-            (name, body) -> newCase(name, notifying(notifier, describe(test), body)),
-            (name, children) -> test));
+  /**
+   * If filter accepts description of some quackery method itself, it selects methods. Methods it
+   * rejects are dropped without invoking them, and cases of selected methods are filtered when they
+   * are invoked, keeping all of them if filter accepts none. Otherwise filter selects cases by
+   * their descriptions, so each method has to be invoked to filter its cases.
+   */
+  public void filter(Filter filter) throws NoTestsRemainException {
+    if (junitRunner != null) {
+      try {
+        filter.apply(junitRunner);
+      } catch (NoTestsRemainException e) {
+        junitRunner = null;
+      }
+    }
+    boolean selectsMethods = nodes.stream().anyMatch(node -> node.isSelectedBy(filter));
+    nodes.removeIf(node -> !node.filter(filter, selectsMethods));
+    if (junitRunner == null && nodes.isEmpty()) {
+      throw new NoTestsRemainException();
+    }
+    description = null;
+  }
+
+  /** Cases of method that was not invoked yet are sorted when it is invoked. */
+  public void sort(Sorter sorter) {
+    if (junitRunner != null) {
+      sorter.apply(junitRunner);
+    }
+    Function<List<Described>, List<Described>> sorting = children -> {
+      List<Described> sorted = new ArrayList<>(children);
+      sorted.sort((first, second) -> sorter.compare(first.description, second.description));
+      return sorted;
+    };
+    for (Node node : nodes) {
+      node.transformLater(tree -> reshape(tree, sorting));
+    }
+    nodes.sort((first, second) -> sorter.compare(first.describing(), second.describing()));
+    description = null;
+  }
+
+  /**
+   * Tests returned by single quackery method. Method is invoked, and its tests are fixed and
+   * described, only when they are needed.
+   */
+  private class Node {
+    private final Method method;
+    private final List<Function<Described, Described>> pending = new ArrayList<>();
+    private Described described;
+    private boolean instantiated;
+
+    private Node(Method method) {
+      this.method = method;
+    }
+
+    private Node(Test test) {
+      this.method = null;
+      this.described = new Described(test, describe(test));
+      this.instantiated = true;
+    }
+
+    private Test test() {
+      instantiate();
+      return described.test;
+    }
+
+    private Description description() {
+      instantiate();
+      return described.description;
+    }
+
+    /** Description of method itself, so filter can select method without invoking it. */
+    private Description describeMethod() {
+      return createTestDescription(annotatedClass.getName(), method.getName());
+    }
 
-    Runners.run(notifyingQuackeryTest);
+    /** Sorted by description of method until it is invoked. */
+    private Description describing() {
+      return instantiated
+          ? described.description
+          : describeMethod();
+    }
+
+    private void instantiate() {
+      if (instantiated) {
+        return;
+      }
+      instantiated = true;
+      Test test = fixBugs(instantiateQuackeryTestReturnedBy(method));
+      described = new Described(test, describe(test));
+      for (Function<Described, Described> transformation : pending) {
+        described = transformation.apply(described);
+      }
+      pending.clear();
+    }
+
+    private void transformLater(Function<Described, Described> transformation) {
+      if (instantiated) {
+        described = transformation.apply(described);
+      } else {
+        pending.add(transformation);
+      }
+    }
+
+    private boolean isSelectedBy(Filter filter) {
+      return method != null && filter.shouldRun(describeMethod());
+    }
+
+    /** Returns false if no test of node is left. */
+    private boolean filter(Filter filter, boolean selectsMethods) {
+      if (method != null && selectsMethods) {
+        if (!isSelectedBy(filter)) {
+          return false;
+        }
+        transformLater(tree -> {
+          Described filtered = filterCases(tree, filter);
+          return filtered != null ? filtered : tree;
+        });
+        return true;
+      }
+      instantiate();
+      described = filterCases(described, filter);
+      return described != null;
+    }
+  }
+
+  private static Described filterCases(Described root, Filter filter) {
+    return reshape(root, children -> children.stream()
+        .filter(child -> filter.shouldRun(child.description))
+        .collect(toList()));
+  }
+
+  /**
+   * Rebuilds tree and its description together, suite by suite, from the bottom. Reshaper receives
+   * children of suite that were already reshaped. Suite left without children is removed, and null
+   * is returned if nothing is left. Cases of generated suites are kept as they were generated, so
+   * they are matched with descriptions again.
+   */
+  private static Described reshape(Described root,
+      Function<List<Described>, List<Described>> reshaper) {
+    Deque<Iterator<Description>> descriptions = new ArrayDeque<>();
+    Deque<Description> suiteDescriptions = new ArrayDeque<>();
+    Deque<List<Described>> reshaped = new ArrayDeque<>();
+    reshaped.push(new ArrayList<>(1));
+    walk(root.test,
+        test -> {
+          Description described = descriptions.isEmpty()
+              ? root.description
+              : descriptions.peek().next();
+          if (isSuite(test)) {
+            descriptions.push(described.getChildren().iterator());
+            suiteDescriptions.push(described);
+            reshaped.push(new ArrayList<>());
+          } else {
+            reshaped.peek().add(new Described(test, described));
+          }
+          return true;
+        },
+        test -> {
+          if (isSuite(test)) {
+            descriptions.pop();
+            Description described = suiteDescriptions.pop();
+            List<Described> children = reshaper.apply(reshaped.pop());
+            if (!children.isEmpty()) {
+              Test suite = suite(described.getDisplayName())
+                  .addAll(children.stream()
+                      .map(child -> child.test)
+                      .collect(toList()));
+              Description suiteDescription = createSuiteDescription(
+                  described.getDisplayName(), id(suite));
+              for (Described child : children) {
+                suiteDescription.addChild(child.description);
+              }
+              reshaped.peek().add(new Described(suite, suiteDescription));
+            }
+          }
+        });
+    List<Described> roots = reshaper.apply(reshaped.pop());
+    return roots.isEmpty() ? null : roots.get(0);
+  }
+
+  private static class Described {
+    private final Test test;
+    private final Description description;
+
+    private Described(Test test, Description description) {
+      this.test = test;
+      this.description = description;
+    }
+  }
+
+  public void run(RunNotifier notifier) {
+    assemble();
+    int threads = threads(annotatedClass);
+    if (quackeryTest != null && threads == 1) {
+      run(notifier, quackeryTest, quackeryDescription, Runnable::run);
+    } else if (quackeryTest != null) {
+      ThreadPoolExecutor pool = executorBuilder()
+          .poolSize(threads)
+          .build();
+      try {
+        run(notifier, quackeryTest, quackeryDescription, pool);
+      } finally {
+        awaitTermination(pool);
+      }
+    }
 
     if (junitRunner != null) {
       junitRunner.run(notifier);
     }
   }
 
-  private Body notifying(RunNotifier notifier, Description described, Body body) {
-    return () -> {
-      notifier.fireTestStarted(described);
+  /**
+   * Class annotation wins over system property quackery.threads, which applies to all classes.
+   * Without both, cases run sequentially in calling thread.
+   */
+  private static int threads(Class<?> annotatedClass) {
+    Concurrent concurrent = annotatedClass.getAnnotation(Concurrent.class);
+    int threads;
+    if (concurrent != null) {
+      threads = concurrent.threads();
+    } else {
       try {
-        body.run();
-      } catch (AssertException e) {
-        Throwable wrapper = new AssertionError(e.getMessage(), e);
-        notifier.fireTestFailure(new Failure(described, wrapper));
-      } catch (AssumeException e) {
-        Throwable wrapper = new AssumptionViolatedException(e.getMessage(), e);
-        notifier.fireTestAssumptionFailed(new Failure(described, wrapper));
-      } catch (Throwable throwable) {
-        notifier.fireTestFailure(new Failure(described, throwable));
-      } finally {
-        notifier.fireTestFinished(described);
+        threads = Integer.parseInt(System.getProperty("quackery.threads", "1"));
+      } catch (NumberFormatException e) {
+        threads = 1;
       }
-    };
+    }
+    return threads > 0
+        ? threads
+        : Runtime.getRuntime().availableProcessors();
   }
 
-  private static Suite instantiateQuackerySuite(Class<?> testClass) {
-    List<Test> tests = new ArrayList<>();
-    for (Method method : testClass.getDeclaredMethods()) {
-      if (method.isAnnotationPresent(Quackery.class)) {
-        tests.add(instantiateQuackeryTestReturnedBy(method));
+  private static void awaitTermination(ExecutorService pool) {
+    pool.shutdown();
+    boolean interrupted = false;
+    while (true) {
+      try {
+        if (pool.awaitTermination(1, TimeUnit.SECONDS)) {
+          break;
+        }
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Walks test together with its description instead of describing each case again. Generated
+   * suites produce new instances of children on each traversal, so children are matched with
+   * descriptions by position.
+   */
+  private static void run(RunNotifier notifier, Test root, Description rootDescription,
+      Executor executor) {
+    Deque<Iterator<Description>> descriptions = new ArrayDeque<>();
+    walk(root,
+        test -> {
+          Description described = descriptions.isEmpty()
+              ? rootDescription
+              : descriptions.peek().next();
+          test.visit(
+              (name, body) -> {
+                executor.execute(() -> run(notifier, described, body));
+                return null;
+              },
+              (name, children) -> {
+                descriptions.push(described.getChildren().iterator());
+                return null;
+              });
+          return true;
+        },
+        test -> {
+          if (isSuite(test)) {
+            descriptions.pop();
+          }
+        });
+  }
+
+  /**
+   * Cases can run concurrently, but junit listeners do not expect to be called that way. Notifier
+   * is locked while firing, and failure of case is fired together with its finish.
+   */
+  private static void run(RunNotifier notifier, Description described, Body body) {
+    synchronized (notifier) {
+      notifier.fireTestStarted(described);
+    }
+    Failure failure = null;
+    Failure assumptionFailure = null;
+    try {
+      body.run();
+    } catch (AssertException e) {
+      Throwable wrapper = new AssertionError(e.getMessage(), e);
+      failure = new Failure(described, wrapper);
+    } catch (AssumeException e) {
+      Throwable wrapper = new AssumptionViolatedException(e.getMessage(), e);
+      assumptionFailure = new Failure(described, wrapper);
+    } catch (Throwable throwable) {
+      failure = new Failure(described, throwable);
+    }
+    synchronized (notifier) {
+      if (failure != null) {
+        notifier.fireTestFailure(failure);
+      }
+      if (assumptionFailure != null) {
+        notifier.fireTestAssumptionFailed(assumptionFailure);
       }
+      notifier.fireTestFinished(described);
     }
-    return suite(testClass.getName())
-        .addAll(tests);
   }
 
   private static Test instantiateQuackeryTestReturnedBy(Method method) {
@@ -177,14 +530,26 @@ public class QuackeryRunner extends Runner {
     return message.substring(begin, end);
   }
 
-  private Description describe(Test test) {
-    return test.visit(
-        (name, body) -> createTestDescription(annotatedClass.getName(), name, id(test)),
-        (name, children) -> {
-          Description described = createSuiteDescription(name, id(test));
-          children.stream().forEach(child -> described.addChild(describe(child)));
-          return described;
+  private Description describe(Test root) {
+    Deque<Description> described = new ArrayDeque<>();
+    described.push(createSuiteDescription("root"));
+    walk(root,
+        test -> {
+          Description description = test.visit(
+              (name, body) -> createTestDescription(annotatedClass.getName(), name, id(test)),
+              (name, children) -> createSuiteDescription(name, id(test)));
+          described.peek().addChild(description);
+          if (isSuite(test)) {
+            described.push(description);
+          }
+          return true;
+        },
+        test -> {
+          if (isSuite(test)) {
+            described.pop();
+          }
         });
+    return described.pop().getChildren().get(0);
   }
 
   private static Serializable id(Test test) {
@@ -1,7 +1,11 @@
 package org.quackery.report;
 
 import static org.quackery.QuackeryException.check;
+import static org.quackery.help.Helpers.isSuite;
 import static org.quackery.help.Helpers.thrownBy;
+import static org.quackery.help.Helpers.walk;
+
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.quackery.Body;
 import org.quackery.Test;
@@ -10,33 +14,43 @@ public class Reports {
   public static int count(Class<? extends Throwable> type, Test test) {
     check(type != null);
     check(test != null);
-    return test.visit(
-        (name, body) -> thrownBy(body)
-            .map(throwable -> type.isInstance(throwable) ? 1 : 0)
-            .orElse(0),
-        (name, children) -> children.stream()
-            .mapToInt(child -> count(type, child))
-            .sum());
+    AtomicInteger count = new AtomicInteger();
+    walk(test,
+        node -> true,
+        node -> {
+          boolean counted = node.visit(
+              (name, body) -> thrownBy(body)
+                  .filter(throwable -> type.isInstance(throwable))
+                  .isPresent(),
+              (name, children) -> false);
+          if (counted) {
+            count.incrementAndGet();
+          }
+        });
+    return count.get();
   }
 
   public static String format(Test test) {
     check(test != null);
-    return append(0, test, new StringBuilder()).toString();
-  }
-
-  private static StringBuilder append(int indentation, Test test, StringBuilder builder) {
-    return test.visit(
-        (name, body) -> {
-          indent(indentation, builder);
-          appendThrowable(body, builder);
-          return builder.append(name).append("\n");
+    StringBuilder builder = new StringBuilder();
+    AtomicInteger indentation = new AtomicInteger();
+    walk(test,
+        node -> {
+          indent(indentation.get(), builder);
+          node.visit(
+              (name, body) -> appendThrowable(body, builder).append(name).append("\n"),
+              (name, children) -> builder.append(name).append("\n"));
+          if (isSuite(node)) {
+            indentation.incrementAndGet();
+          }
+          return true;
         },
-        (name, children) -> {
-          indent(indentation, builder);
-          builder.append(name).append("\n");
-          children.forEach(child -> append(indentation + 1, child, builder));
-          return builder;
+        node -> {
+          if (isSuite(node)) {
+            indentation.decrementAndGet();
+          }
         });
+    return builder.toString();
   }
 
   private static StringBuilder appendThrowable(Body body, StringBuilder builder) {
@@ -0,0 +1,66 @@
+package org.quackery.report;
+
+import static org.quackery.QuackeryException.check;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.quackery.Body;
+
+/**
+ * Outcome of body that was already run. Running result again does not run original body, but
+ * rethrows what it has thrown, so reports can read result tree as many times as they need.
+ */
+public class Result implements Body {
+  private final Optional<Throwable> thrown;
+  private final Duration duration;
+  private final String threadName;
+
+  private Result(Optional<Throwable> thrown, Duration duration, String threadName) {
+    this.thrown = thrown;
+    this.duration = duration;
+    this.threadName = threadName;
+  }
+
+  public static Result success(Duration duration, String threadName) {
+    check(duration != null);
+    check(threadName != null);
+    return new Result(Optional.empty(), duration, threadName);
+  }
+
+  public static Result failure(Throwable throwable, Duration duration, String threadName) {
+    check(throwable != null);
+    check(duration != null);
+    check(threadName != null);
+    return new Result(Optional.of(throwable), duration, threadName);
+  }
+
+  public void run() throws Throwable {
+    if (thrown.isPresent()) {
+      throw thrown.get();
+    }
+  }
+
+  public boolean isSuccessful() {
+    return !thrown.isPresent();
+  }
+
+  public Optional<Throwable> getThrown() {
+    return thrown;
+  }
+
+  public Duration getDuration() {
+    return duration;
+  }
+
+  public String getThreadName() {
+    return threadName;
+  }
+
+  public String toString() {
+    return thrown
+        .map(throwable -> throwable.getClass().getSimpleName())
+        .orElse("success")
+        + " in " + duration;
+  }
+}
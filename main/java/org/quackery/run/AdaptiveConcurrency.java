@@ -0,0 +1,203 @@
+package org.quackery.run;
+
+import static java.lang.String.format;
+import static java.util.Arrays.asList;
+import static org.quackery.QuackeryException.check;
+import static org.quackery.common.ExecutorBuilder.executorBuilder;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+
+import org.quackery.Test;
+
+/**
+ * Runs cases concurrently, but fewer of them when heap is short. After each collection of tenured
+ * pool it checks how full tenured pools are after collection. Above high watermark number of cases
+ * in flight is halved, below low watermark it grows by one, up to maximum. Eden and survivor
+ * spaces are ignored, since they are nearly full after every young collection whether heap is
+ * short or not. Listens only to collectors of tenured pools and only while some cases are
+ * submitted.
+ */
+public class AdaptiveConcurrency {
+  private static final double HIGH_WATERMARK = 0.75;
+  private static final double LOW_WATERMARK = 0.5;
+
+  private final int maxConcurrency;
+  private final ThreadPoolExecutor pool;
+  private final long origin = System.nanoTime();
+  private final SortedMap<Duration, Integer> history = new TreeMap<>();
+  private final Deque<Runnable> waiting = new ArrayDeque<>();
+  private final NotificationListener listener = (notification, handback) -> adjust(occupancy());
+  private int concurrency;
+  private int inFlight;
+  private int peakInFlight;
+  private boolean listening;
+
+  private AdaptiveConcurrency(int maxConcurrency) {
+    this.maxConcurrency = maxConcurrency;
+    this.concurrency = maxConcurrency;
+    this.pool = executorBuilder()
+        .poolSize(maxConcurrency)
+        .keepAlive(Duration.ofNanos(1))
+        .allowCoreThreadTimeOut(true)
+        .threadFactory(runnable -> {
+          Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+          thread.setDaemon(true);
+          return thread;
+        })
+        .build();
+    history.put(Duration.ZERO, maxConcurrency);
+  }
+
+  public static AdaptiveConcurrency adaptiveConcurrency(int maxConcurrency) {
+    check(maxConcurrency > 0);
+    return new AdaptiveConcurrency(maxConcurrency);
+  }
+
+  public static AdaptiveConcurrency adaptiveConcurrency() {
+    return adaptiveConcurrency(Runtime.getRuntime().availableProcessors());
+  }
+
+  public Test concurrent(Test test) {
+    check(test != null);
+    return Runners.in(executor(), test);
+  }
+
+  private Executor executor() {
+    return runnable -> {
+      synchronized (this) {
+        if (!listening) {
+          listening = true;
+          listen(true);
+        }
+        waiting.add(runnable);
+      }
+      dispatch();
+    };
+  }
+
+  private synchronized void dispatch() {
+    while (inFlight < concurrency && !waiting.isEmpty()) {
+      Runnable runnable = waiting.poll();
+      inFlight++;
+      peakInFlight = Math.max(peakInFlight, inFlight);
+      pool.execute(() -> {
+        try {
+          runnable.run();
+        } finally {
+          finished();
+        }
+      });
+    }
+  }
+
+  private void finished() {
+    synchronized (this) {
+      inFlight--;
+      if (inFlight == 0 && waiting.isEmpty() && listening) {
+        listening = false;
+        listen(false);
+      }
+    }
+    dispatch();
+  }
+
+  private void listen(boolean listen) {
+    for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+      if (collector instanceof NotificationEmitter && collectsTenured(collector)) {
+        NotificationEmitter emitter = (NotificationEmitter) collector;
+        if (listen) {
+          emitter.addNotificationListener(listener, null, null);
+        } else {
+          try {
+            emitter.removeNotificationListener(listener);
+          } catch (ListenerNotFoundException e) {}
+        }
+      }
+    }
+  }
+
+  private static boolean collectsTenured(GarbageCollectorMXBean collector) {
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (isTenured(pool) && asList(collector.getMemoryPoolNames()).contains(pool.getName())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Heap pool that holds objects surviving young collections, like old gen or tenured gen. */
+  static boolean isTenured(MemoryPoolMXBean pool) {
+    String name = pool.getName().toLowerCase();
+    return pool.getType() == MemoryType.HEAP
+        && pool.isCollectionUsageThresholdSupported()
+        && !name.contains("eden")
+        && !name.contains("survivor");
+  }
+
+  /** Fraction of fullest tenured pool that was left used by last collection. */
+  private static double occupancy() {
+    double occupancy = 0;
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      MemoryUsage usage = isTenured(pool)
+          ? pool.getCollectionUsage()
+          : null;
+      if (usage != null && usage.getMax() > 0) {
+        occupancy = Math.max(occupancy, (double) usage.getUsed() / usage.getMax());
+      }
+    }
+    return occupancy;
+  }
+
+  void adjust(double occupancy) {
+    synchronized (this) {
+      int adjusted = occupancy > HIGH_WATERMARK ? Math.max(1, concurrency / 2)
+          : occupancy < LOW_WATERMARK ? Math.min(maxConcurrency, concurrency + 1)
+          : concurrency;
+      if (adjusted == concurrency) {
+        return;
+      }
+      concurrency = adjusted;
+      history.put(Duration.ofNanos(System.nanoTime() - origin), adjusted);
+    }
+    dispatch();
+  }
+
+  public synchronized int getConcurrency() {
+    return concurrency;
+  }
+
+  public synchronized int getPeakInFlight() {
+    return peakInFlight;
+  }
+
+  /** Maps time since this was created to concurrency that was set at that time. */
+  public synchronized SortedMap<Duration, Integer> getConcurrencyHistory() {
+    return new TreeMap<>(history);
+  }
+
+  public synchronized String toString() {
+    StringBuilder builder = new StringBuilder("concurrency");
+    for (Map.Entry<Duration, Integer> entry : history.entrySet()) {
+      builder.append(format(" %s at %sms,", entry.getValue(), entry.getKey().toMillis()));
+    }
+    builder.setLength(builder.length() - 1);
+    return builder.toString();
+  }
+}
@@ -0,0 +1,95 @@
+package org.quackery.run;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.quackery.Body;
+import org.quackery.report.AssumeException;
+
+/**
+ * Stops cases that share it. After cancel, bodies that did not start yet are skipped and bodies
+ * that are running are interrupted. Both throw AssumeException, so they are reported as skipped,
+ * not as failures, unless cancellation is failing. Interrupt status set by cancel never leaks to
+ * whatever thread runs next.
+ */
+class Cancellation {
+  private final Set<Flight> running = new HashSet<>();
+  private final boolean failing;
+  private String reason;
+
+  public Cancellation() {
+    this(false);
+  }
+
+  /** If failing, bodies that were running when cancelled fail with InterruptedException instead. */
+  public Cancellation(boolean failing) {
+    this.failing = failing;
+  }
+
+  public synchronized boolean isCancelled() {
+    return reason != null;
+  }
+
+  /** Does not interrupt calling thread, since it is usually the one that caused cancellation. */
+  public void cancel(String reason) {
+    Thread current = Thread.currentThread();
+    synchronized (this) {
+      if (this.reason != null) {
+        return;
+      }
+      this.reason = reason;
+      for (Flight flight : running) {
+        if (flight.thread != current) {
+          flight.interrupted = true;
+          flight.thread.interrupt();
+        }
+      }
+    }
+  }
+
+  public Body guarded(Body body) {
+    return () -> {
+      Flight flight = new Flight(Thread.currentThread());
+      synchronized (this) {
+        if (reason != null) {
+          throw new AssumeException("skipped, " + reason);
+        }
+        running.add(flight);
+      }
+      Throwable thrown = null;
+      try {
+        body.run();
+      } catch (Throwable throwable) {
+        thrown = throwable;
+      }
+      synchronized (this) {
+        running.remove(flight);
+      }
+      if (flight.interrupted) {
+        Thread.interrupted();
+        if (failing) {
+          InterruptedException interrupted = new InterruptedException("cancelled, " + reason);
+          if (thrown != null) {
+            interrupted.initCause(thrown);
+          }
+          throw interrupted;
+        }
+        if (thrown != null) {
+          throw new AssumeException("cancelled, " + reason, thrown);
+        }
+      }
+      if (thrown != null) {
+        throw thrown;
+      }
+    };
+  }
+
+  private static class Flight {
+    private final Thread thread;
+    private boolean interrupted;
+
+    private Flight(Thread thread) {
+      this.thread = thread;
+    }
+  }
+}
@@ -0,0 +1,168 @@
+package org.quackery.run;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.quackery.QuackeryException;
+
+/**
+ * Hash of bytecode of class and of all classes it refers to, directly or not, through constant
+ * pool. This covers superclasses, nested and anonymous classes and called helpers. Classes of jdk
+ * are skipped, since they change only with jvm version.
+ */
+class ClassDigest {
+  private ClassDigest() {}
+
+  public static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new LinkageError(e.getMessage(), e);
+    }
+  }
+
+  public static String hex(byte[] bytes) {
+    StringBuilder builder = new StringBuilder(2 * bytes.length);
+    for (byte b : bytes) {
+      builder.append(Character.forDigit((b >> 4) & 0xF, 16));
+      builder.append(Character.forDigit(b & 0xF, 16));
+    }
+    return builder.toString();
+  }
+
+  /** Returns empty if bytecode of type itself cannot be found, like for generated classes. */
+  public static byte[] digest(Class<?> type) {
+    ClassLoader loader = type.getClassLoader() != null
+        ? type.getClassLoader()
+        : ClassLoader.getSystemClassLoader();
+    String root = type.getName().replace('.', '/');
+    Set<String> visited = new HashSet<>();
+    Map<String, byte[]> found = new TreeMap<>();
+    Deque<String> pending = new ArrayDeque<>();
+    pending.push(root);
+    visited.add(root);
+    while (!pending.isEmpty()) {
+      String name = pending.pop();
+      byte[] bytecode = read(loader, name);
+      if (bytecode == null) {
+        if (name.equals(root)) {
+          return new byte[0];
+        }
+        continue;
+      }
+      found.put(name, bytecode);
+      for (String referenced : referencedClasses(bytecode)) {
+        if (!isJdk(referenced) && visited.add(referenced)) {
+          pending.push(referenced);
+        }
+      }
+    }
+    MessageDigest digest = sha256();
+    for (Map.Entry<String, byte[]> entry : found.entrySet()) {
+      digest.update(entry.getKey().getBytes(UTF_8));
+      digest.update(sha256().digest(entry.getValue()));
+    }
+    return digest.digest();
+  }
+
+  private static boolean isJdk(String name) {
+    return name.startsWith("java/")
+        || name.startsWith("javax/")
+        || name.startsWith("jdk/")
+        || name.startsWith("sun/")
+        || name.startsWith("com/sun/");
+  }
+
+  private static byte[] read(ClassLoader loader, String name) {
+    try (InputStream input = loader.getResourceAsStream(name + ".class")) {
+      if (input == null) {
+        return null;
+      }
+      ByteArrayOutputStream output = new ByteArrayOutputStream();
+      byte[] buffer = new byte[8192];
+      int read;
+      while ((read = input.read(buffer)) != -1) {
+        output.write(buffer, 0, read);
+      }
+      return output.toByteArray();
+    } catch (IOException e) {
+      throw new QuackeryException(e);
+    }
+  }
+
+  private static List<String> referencedClasses(byte[] bytecode) {
+    try {
+      DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytecode));
+      input.skipBytes(8);
+      int count = input.readUnsignedShort();
+      String[] utf8 = new String[count];
+      int[] classes = new int[count];
+      int classCount = 0;
+      for (int i = 1; i < count; i++) {
+        int tag = input.readUnsignedByte();
+        switch (tag) {
+          case 1:
+            utf8[i] = input.readUTF();
+            break;
+          case 7:
+            classes[classCount++] = input.readUnsignedShort();
+            break;
+          case 8:
+          case 16:
+          case 19:
+          case 20:
+            input.skipBytes(2);
+            break;
+          case 15:
+            input.skipBytes(3);
+            break;
+          case 3:
+          case 4:
+          case 9:
+          case 10:
+          case 11:
+          case 12:
+          case 17:
+          case 18:
+            input.skipBytes(4);
+            break;
+          case 5:
+          case 6:
+            input.skipBytes(8);
+            i++;
+            break;
+          default:
+            return new ArrayList<>();
+        }
+      }
+      List<String> names = new ArrayList<>(classCount);
+      for (int i = 0; i < classCount; i++) {
+        String name = utf8[classes[i]];
+        if (name != null) {
+          int start = name.lastIndexOf('[') + 1;
+          names.add(start > 0 && name.startsWith("L", start)
+              ? name.substring(start + 1, name.length() - 1)
+              : name);
+        }
+      }
+      return names;
+    } catch (IOException | RuntimeException e) {
+      return new ArrayList<>();
+    }
+  }
+}
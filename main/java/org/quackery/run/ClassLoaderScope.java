@@ -0,0 +1,184 @@
+package org.quackery.run;
+
+import static org.quackery.Case.newCase;
+import static org.quackery.Suite.generated;
+import static org.quackery.Suite.suite;
+import static org.quackery.help.Helpers.isGenerated;
+import static org.quackery.help.Helpers.isSuite;
+import static org.quackery.help.Helpers.walk;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.quackery.Body;
+import org.quackery.Test;
+
+/**
+ * Context class loader shared by cases of one scope. Cases are registered in scope when they are
+ * wrapped, without generating generated suites. Generated suite holds one registration until all
+ * its children are generated, and its cases are registered when they are generated, like in
+ * RunEvents. Loader is created when first case runs and forgotten when every registered case
+ * finished, so classes it loaded can be collected. Then registrations are armed again, so running
+ * the same tests again shares new loader in the same way. Group that finished is forgotten, so
+ * tests scoped later with the same name get new scope. Groups are remembered only weakly, so group
+ * whose cases never all run is forgotten together with its loader, when tests that were scoped in
+ * it are no longer referenced.
+ */
+class ClassLoaderScope {
+  private static final Object LOCK = new Object();
+  private static final Map<String, WeakReference<ClassLoaderScope>> GROUPS = new HashMap<>();
+
+  private final String group;
+  private ClassLoader loader;
+  private long armed;
+  private long pending;
+  private long round;
+
+  private ClassLoaderScope(String group) {
+    this.group = group;
+  }
+
+  public static Test scoped(Test root) {
+    ClassLoaderScope scope = new ClassLoaderScope(null);
+    synchronized (LOCK) {
+      return scope.scoped(root, true);
+    }
+  }
+
+  /** Looks up group and registers cases in it atomically, so it cannot finish in between. */
+  public static Test grouped(String name, Test root) {
+    synchronized (LOCK) {
+      GROUPS.values().removeIf(reference -> reference.get() == null);
+      WeakReference<ClassLoaderScope> reference = GROUPS.get(name);
+      ClassLoaderScope scope = reference != null
+          ? reference.get()
+          : null;
+      if (scope == null) {
+        scope = new ClassLoaderScope(name);
+        GROUPS.put(name, new WeakReference<>(scope));
+      }
+      return scope.scoped(root, true);
+    }
+  }
+
+  /** Registrations of decorated tests are armed for every run, those of generated cases once. */
+  private Test scoped(Test root, boolean rearming) {
+    Deque<List<Test>> traversed = new ArrayDeque<>();
+    traversed.push(new ArrayList<>(1));
+    walk(root,
+        test -> {
+          boolean descend = isSuite(test) && !isGenerated(test);
+          if (descend) {
+            traversed.push(new ArrayList<>());
+          }
+          return descend;
+        },
+        test -> {
+          Test scopedTest = test.visit(
+              (name, body) -> newCase(name, scoped(body, new Registration(rearming))),
+              (name, children) -> isGenerated(test)
+                  ? generated(name, generating(children, new Registration(rearming)))
+                  : suite(name).addAll(traversed.pop()));
+          traversed.peek().add(scopedTest);
+        });
+    return traversed.pop().get(0);
+  }
+
+  private Supplier<Stream<Test>> generating(List<Test> children, Registration registration) {
+    return () -> {
+      Iterator<Test> iterator = children.iterator();
+      Iterator<Test> registering = new Iterator<Test>() {
+        public boolean hasNext() {
+          boolean hasNext = iterator.hasNext();
+          if (!hasNext) {
+            registration.release();
+          }
+          return hasNext;
+        }
+
+        public Test next() {
+          return scoped(iterator.next(), false);
+        }
+      };
+      return StreamSupport.stream(
+          Spliterators.spliteratorUnknownSize(registering, Spliterator.ORDERED), false);
+    };
+  }
+
+  private Body scoped(Body body, Registration registration) {
+    return () -> {
+      Thread thread = Thread.currentThread();
+      ClassLoader original = thread.getContextClassLoader();
+      thread.setContextClassLoader(acquire(original));
+      try {
+        body.run();
+      } finally {
+        thread.setContextClassLoader(original);
+        registration.release();
+      }
+    };
+  }
+
+  private ClassLoader acquire(ClassLoader parent) {
+    synchronized (LOCK) {
+      if (loader == null) {
+        loader = new ClassLoader(parent) {};
+      }
+      return loader;
+    }
+  }
+
+  /** Counts once in each run it belongs to. */
+  private class Registration {
+    private final boolean rearming;
+    private final long registeredRound;
+    private long releasedRound = -1;
+
+    private Registration(boolean rearming) {
+      synchronized (LOCK) {
+        this.rearming = rearming;
+        this.registeredRound = round;
+        pending++;
+        if (rearming) {
+          armed++;
+        }
+      }
+    }
+
+    private void release() {
+      synchronized (LOCK) {
+        if (releasedRound == round || !rearming && registeredRound != round) {
+          return;
+        }
+        releasedRound = round;
+        pending--;
+        if (pending == 0) {
+          finishRound();
+        }
+      }
+    }
+  }
+
+  private void finishRound() {
+    loader = null;
+    round++;
+    pending = armed;
+    if (group != null) {
+      WeakReference<ClassLoaderScope> reference = GROUPS.get(group);
+      if (reference != null && reference.get() == this) {
+        GROUPS.remove(group);
+      }
+    }
+  }
+}
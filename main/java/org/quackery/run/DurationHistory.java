@@ -0,0 +1,135 @@
+package org.quackery.run;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.quackery.QuackeryException.check;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.quackery.Body;
+import org.quackery.QuackeryException;
+
+/**
+ * Durations of cases from previous runs, keyed by names of all suites containing case and name of
+ * case itself. Stored in text file, one case per line. History is only a hint for scheduling, so
+ * lines that cannot be parsed are ignored.
+ */
+public class DurationHistory {
+  private final Path file;
+  private final ConcurrentMap<String, Long> nanos;
+
+  private DurationHistory(Path file, ConcurrentMap<String, Long> nanos) {
+    this.file = file;
+    this.nanos = nanos;
+  }
+
+  public static DurationHistory durationHistory(Path file) {
+    check(file != null);
+    ConcurrentMap<String, Long> nanos = new ConcurrentHashMap<>();
+    if (Files.exists(file)) {
+      try (BufferedReader reader = Files.newBufferedReader(file, UTF_8)) {
+        String line;
+        while ((line = reader.readLine()) != null) {
+          int separator = line.indexOf(' ');
+          if (separator > 0) {
+            try {
+              nanos.put(line.substring(separator + 1), Long.parseLong(line.substring(0, separator)));
+            } catch (NumberFormatException e) {}
+          }
+        }
+      } catch (IOException e) {
+        throw new QuackeryException(e);
+      }
+    }
+    return new DurationHistory(file, nanos);
+  }
+
+  public Optional<Duration> durationOf(List<String> path) {
+    check(path != null && !path.isEmpty());
+    return Optional.ofNullable(nanos.get(key(path))).map(Duration::ofNanos);
+  }
+
+  public int size() {
+    return nanos.size();
+  }
+
+  /** Writes history to its file. File is replaced at once, so concurrent readers see old or new. */
+  public void save() {
+    Map<String, Long> sorted = new TreeMap<>(nanos);
+    try {
+      Path parent = file.toAbsolutePath().getParent();
+      Files.createDirectories(parent);
+      Path temporary = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+      try (BufferedWriter writer = Files.newBufferedWriter(temporary, UTF_8)) {
+        for (Map.Entry<String, Long> entry : sorted.entrySet()) {
+          writer.write(entry.getValue() + " " + entry.getKey());
+          writer.newLine();
+        }
+      }
+      try {
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException e) {
+      throw new QuackeryException(e);
+    }
+  }
+
+  long nanosOf(String key) {
+    return nanos.getOrDefault(key, Long.MAX_VALUE);
+  }
+
+  Body recorded(String key, Body body) {
+    return () -> {
+      long start = System.nanoTime();
+      try {
+        body.run();
+      } finally {
+        nanos.put(key, System.nanoTime() - start);
+      }
+    };
+  }
+
+  /** Escapes separators, so different paths never share key and key fits in one line. */
+  static String key(List<String> path) {
+    StringBuilder builder = new StringBuilder();
+    for (String name : path) {
+      if (builder.length() > 0) {
+        builder.append('/');
+      }
+      for (int i = 0; i < name.length(); i++) {
+        char character = name.charAt(i);
+        switch (character) {
+          case '\\':
+            builder.append("\\\\");
+            break;
+          case '/':
+            builder.append("\\/");
+            break;
+          case '\n':
+            builder.append("\\n");
+            break;
+          case '\r':
+            builder.append("\\r");
+            break;
+          default:
+            builder.append(character);
+        }
+      }
+    }
+    return builder.toString();
+  }
+}
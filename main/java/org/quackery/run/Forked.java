@@ -0,0 +1,217 @@
+package org.quackery.run;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.quackery.Case.newCase;
+import static org.quackery.Suite.suite;
+import static org.quackery.help.Helpers.isSuite;
+import static org.quackery.help.Helpers.walk;
+import static org.quackery.report.Result.failure;
+import static org.quackery.report.Result.success;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.quackery.QuackeryException;
+import org.quackery.Test;
+import org.quackery.report.Result;
+
+/**
+ * Runs cases in worker jvms. Bodies cannot be sent to other jvm, so each worker builds the same
+ * tree by calling the same static method. Case is identified by its position among all cases of
+ * the tree. Worker gets range of positions spanning cases of one suite through its standard input
+ * and writes back one line per case as soon as it finishes, so results stream while worker runs.
+ */
+class Forked {
+  private final Method source;
+  private final List<Remote> remotes = new ArrayList<>();
+  private final List<int[]> tasks = new ArrayList<>();
+  private final AtomicInteger nextTask = new AtomicInteger();
+  private final AtomicInteger alive = new AtomicInteger();
+
+  private Forked(Method source) {
+    this.source = source;
+  }
+
+  public static Test forked(int jvms, Method source, Test root) {
+    Forked forked = new Forked(source);
+    Test result = forked.index(root, jvms);
+    int workers = Math.min(jvms, forked.tasks.size());
+    forked.alive.set(workers);
+    for (int i = 0; i < workers; i++) {
+      forked.start(i);
+    }
+    return result;
+  }
+
+  private Test index(Test root, int jvms) {
+    List<Integer> parents = new ArrayList<>();
+    Deque<Integer> suites = new ArrayDeque<>();
+    AtomicInteger suiteCount = new AtomicInteger();
+    Deque<List<Test>> built = new ArrayDeque<>();
+    built.push(new ArrayList<>(1));
+    walk(root,
+        test -> {
+          if (isSuite(test)) {
+            built.push(new ArrayList<>());
+            suites.push(suiteCount.incrementAndGet());
+          }
+          return true;
+        },
+        test -> {
+          Test builtTest = test.visit(
+              (name, body) -> {
+                Remote remote = new Remote();
+                remotes.add(remote);
+                parents.add(suites.isEmpty() ? 0 : suites.peek());
+                return newCase(name, remote);
+              },
+              (name, children) -> {
+                suites.pop();
+                return suite(name).addAll(built.pop());
+              });
+          built.peek().add(builtTest);
+        });
+    int chunk = Math.max(1, remotes.size() / (4 * jvms));
+    for (int i = 0; i < remotes.size(); i++) {
+      int[] last = tasks.isEmpty() ? null : tasks.get(tasks.size() - 1);
+      if (last != null && parents.get(last[0]).equals(parents.get(i)) && last[1] - last[0] < chunk) {
+        last[1]++;
+      } else {
+        tasks.add(new int[] { i, i + 1 });
+      }
+    }
+    return built.pop().get(0);
+  }
+
+  private void start(int worker) {
+    String workerName = "forked-" + worker;
+    Thread dispatcher = new Thread(() -> {
+      Process process = null;
+      int[] task = null;
+      int finished = 0;
+      try {
+        process = new ProcessBuilder(
+            System.getProperty("java.home") + File.separator + "bin" + File.separator + "java",
+            "-classpath", System.getProperty("java.class.path"),
+            ForkedWorker.class.getName(),
+            source.getDeclaringClass().getName(),
+            source.getName())
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        BufferedReader input = new BufferedReader(new InputStreamReader(process.getInputStream(), UTF_8));
+        Writer output = new OutputStreamWriter(process.getOutputStream(), UTF_8);
+        String ready = input.readLine();
+        if (!("ready " + remotes.size()).equals(ready)) {
+          throw new QuackeryException("worker jvm built different tree: " + ready);
+        }
+        int index;
+        while ((index = nextTask.getAndIncrement()) < tasks.size()) {
+          task = tasks.get(index);
+          finished = task[0];
+          output.write(task[0] + " " + task[1] + "\n");
+          output.flush();
+          while (finished < task[1]) {
+            String line = input.readLine();
+            if (line == null) {
+              throw new QuackeryException("worker jvm exited");
+            }
+            receive(line, workerName);
+            finished++;
+          }
+          task = null;
+        }
+        output.close();
+      } catch (IOException | RuntimeException e) {
+        QuackeryException lost = new QuackeryException("worker jvm " + workerName + " failed", e);
+        if (task != null) {
+          for (int i = finished; i < task[1]; i++) {
+            remotes.get(i).complete(failure(lost, Duration.ZERO, workerName));
+          }
+        }
+        if (process != null) {
+          process.destroy();
+        }
+      } finally {
+        if (alive.decrementAndGet() == 0) {
+          QuackeryException lost = new QuackeryException("no worker jvm left");
+          for (Remote remote : remotes) {
+            remote.complete(failure(lost, Duration.ZERO, workerName));
+          }
+        }
+      }
+    }, "quackery-" + workerName);
+    dispatcher.setDaemon(true);
+    dispatcher.start();
+  }
+
+  private void receive(String line, String workerName) {
+    String[] fields = line.split(" ");
+    int index = Integer.parseInt(fields[0]);
+    Duration duration = Duration.ofNanos(Long.parseLong(fields[1]));
+    remotes.get(index).complete(fields.length == 2
+        ? success(duration, workerName)
+        : failure(deserialize(fields[2]), duration, workerName));
+  }
+
+  /** Throwable that cannot be serialized is replaced by exception with the same message and trace. */
+  static String serialize(Throwable throwable) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+      output.writeObject(throwable);
+    } catch (IOException e) {
+      QuackeryException replacement = new QuackeryException(throwable.toString());
+      replacement.setStackTrace(throwable.getStackTrace());
+      return serialize(replacement);
+    }
+    return Base64.getEncoder().encodeToString(bytes.toByteArray());
+  }
+
+  private static Throwable deserialize(String encoded) {
+    byte[] bytes = Base64.getDecoder().decode(encoded);
+    try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes)) {
+      protected Class<?> resolveClass(ObjectStreamClass description)
+          throws IOException, ClassNotFoundException {
+        try {
+          return Class.forName(description.getName(), false, Thread.currentThread().getContextClassLoader());
+        } catch (ClassNotFoundException e) {
+          return super.resolveClass(description);
+        }
+      }
+    }) {
+      return (Throwable) input.readObject();
+    } catch (IOException | ClassNotFoundException | ClassCastException e) {
+      return new QuackeryException("cannot read throwable sent by worker jvm", e);
+    }
+  }
+
+  private static class Remote implements PendingResult {
+    private final CompletableFuture<Result> future = new CompletableFuture<>();
+
+    public void complete(Result result) {
+      future.complete(result);
+    }
+
+    public Result get() throws InterruptedException, ExecutionException {
+      return future.get();
+    }
+  }
+}
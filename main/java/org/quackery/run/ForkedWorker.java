@@ -0,0 +1,63 @@
+package org.quackery.run;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.quackery.help.Helpers.walk;
+
+import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.quackery.Body;
+import org.quackery.Test;
+
+/**
+ * Main class of jvm started by Forked. Standard output is taken for results, so anything printed
+ * by tests goes to standard error.
+ */
+class ForkedWorker {
+  public static void main(String[] args) throws Throwable {
+    Writer output = new OutputStreamWriter(new FileOutputStream(FileDescriptor.out), UTF_8);
+    System.setOut(System.err);
+    Method source = Class.forName(args[0]).getDeclaredMethod(args[1]);
+    source.setAccessible(true);
+    Test root = (Test) source.invoke(null);
+    List<Body> bodies = new ArrayList<>();
+    walk(root,
+        test -> true,
+        test -> test.visit(
+            (name, body) -> bodies.add(body),
+            (name, children) -> null));
+    output.write("ready " + bodies.size() + "\n");
+    output.flush();
+
+    BufferedReader input = new BufferedReader(new InputStreamReader(System.in, UTF_8));
+    String line;
+    while ((line = input.readLine()) != null) {
+      String[] range = line.split(" ");
+      int from = Integer.parseInt(range[0]);
+      int to = Integer.parseInt(range[1]);
+      for (int i = from; i < to; i++) {
+        output.write(run(i, bodies.get(i)));
+        output.flush();
+      }
+    }
+    System.exit(0);
+  }
+
+  private static String run(int index, Body body) {
+    long start = System.nanoTime();
+    try {
+      body.run();
+    } catch (Throwable throwable) {
+      long duration = System.nanoTime() - start;
+      return index + " " + duration + " " + Forked.serialize(throwable) + "\n";
+    }
+    return index + " " + (System.nanoTime() - start) + "\n";
+  }
+}
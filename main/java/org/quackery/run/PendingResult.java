@@ -0,0 +1,15 @@
+package org.quackery.run;
+
+import java.util.concurrent.ExecutionException;
+
+import org.quackery.Body;
+import org.quackery.report.Result;
+
+/** Body whose result is computed elsewhere. Running it waits for that result. */
+interface PendingResult extends Body {
+  Result get() throws InterruptedException, ExecutionException;
+
+  default void run() throws Throwable {
+    get().run();
+  }
+}
@@ -0,0 +1,187 @@
+package org.quackery.run;
+
+import static org.quackery.common.ExecutorBuilder.executorBuilder;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.quackery.Body;
+
+/**
+ * Runs bodies in reused threads, resetting everything that new thread would not have: interrupt
+ * status, context class loader and thread locals. Workers are created without inheriting thread
+ * locals of whatever thread started them, using constructor added in java 9, or by clearing them
+ * through reflection on java 8. Thread locals that body sets itself can be cleared only through
+ * reflection, which jvm allows before java 16 or if java.lang is opened to quackery. Otherwise they
+ * stay with worker. If neither is possible, each body gets new thread, like in
+ * Runners.threadScoped.
+ */
+class PooledThreads {
+  private static final Field THREAD_LOCALS = accessibleField("threadLocals");
+  private static final Field INHERITABLE_THREAD_LOCALS = accessibleField("inheritableThreadLocals");
+  private static final Constructor<Thread> NOT_INHERITING = notInheritingConstructor();
+  private static final Executor POOL = NOT_INHERITING != null || INHERITABLE_THREAD_LOCALS != null
+      ? executorBuilder()
+          .poolSize(0, Integer.MAX_VALUE)
+          .keepAlive(Duration.ofSeconds(1))
+          .blockingQueue(SynchronousQueue::new)
+          .threadFactory(daemon(NOT_INHERITING != null
+              ? notInheriting()
+              : Executors.defaultThreadFactory()))
+          .build()
+      : runnable -> new Thread(runnable).start();
+
+  private PooledThreads() {}
+
+  /** Tells whether thread locals that body sets are cleared before next body runs in its worker. */
+  static boolean clearsThreadLocals() {
+    return THREAD_LOCALS != null && INHERITABLE_THREAD_LOCALS != null;
+  }
+
+  public static Body pooledThreadScoped(Body body) {
+    return () -> {
+      Scope scope = new Scope(body, Thread.currentThread().getContextClassLoader());
+      POOL.execute(scope);
+      scope.await();
+    };
+  }
+
+  private static class Scope implements Runnable {
+    private final Body body;
+    private final ClassLoader contextClassLoader;
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private Thread thread;
+    private boolean interrupted;
+    private Throwable thrown;
+
+    public Scope(Body body, ClassLoader contextClassLoader) {
+      this.body = body;
+      this.contextClassLoader = contextClassLoader;
+    }
+
+    public void run() {
+      Thread current = Thread.currentThread();
+      reset(current);
+      current.setContextClassLoader(contextClassLoader);
+      synchronized (this) {
+        thread = current;
+        if (interrupted) {
+          current.interrupt();
+        }
+      }
+      try {
+        body.run();
+      } catch (Throwable throwable) {
+        thrown = throwable;
+      } finally {
+        synchronized (this) {
+          thread = null;
+        }
+        reset(current);
+        finished.countDown();
+      }
+    }
+
+    public void await() throws Throwable {
+      try {
+        finished.await();
+      } catch (InterruptedException e) {
+        synchronized (this) {
+          interrupted = true;
+          if (thread != null) {
+            thread.interrupt();
+          }
+        }
+        awaitUninterruptibly();
+        throw e;
+      }
+      if (thrown != null) {
+        throw thrown;
+      }
+    }
+
+    private void awaitUninterruptibly() {
+      boolean interruptedAgain = false;
+      while (finished.getCount() > 0) {
+        try {
+          finished.await();
+        } catch (InterruptedException e) {
+          interruptedAgain = true;
+        }
+      }
+      if (interruptedAgain) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private static void reset(Thread thread) {
+    Thread.interrupted();
+    try {
+      if (THREAD_LOCALS != null) {
+        THREAD_LOCALS.set(thread, null);
+      }
+      if (INHERITABLE_THREAD_LOCALS != null) {
+        INHERITABLE_THREAD_LOCALS.set(thread, null);
+      }
+    } catch (IllegalAccessException e) {
+      throw new LinkageError(e.getMessage(), e);
+    }
+  }
+
+  private static Field accessibleField(String name) {
+    try {
+      Field field = Thread.class.getDeclaredField(name);
+      field.setAccessible(true);
+      return field;
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  /** Thread(ThreadGroup, Runnable, String, long, boolean) is looked up, since it is java 9 api. */
+  private static Constructor<Thread> notInheritingConstructor() {
+    try {
+      return Thread.class.getConstructor(
+          ThreadGroup.class, Runnable.class, String.class, long.class, boolean.class);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  private static ThreadFactory notInheriting() {
+    AtomicInteger counter = new AtomicInteger();
+    return runnable -> {
+      try {
+        String name = "quackery-pooled-" + counter.incrementAndGet();
+        return NOT_INHERITING.newInstance(null, runnable, name, 0L, false);
+      } catch (InvocationTargetException e) {
+        if (e.getCause() instanceof Error) {
+          throw (Error) e.getCause();
+        }
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        throw new LinkageError(e.getMessage(), e);
+      } catch (ReflectiveOperationException e) {
+        throw new LinkageError(e.getMessage(), e);
+      }
+    };
+  }
+
+  private static ThreadFactory daemon(ThreadFactory factory) {
+    return runnable -> {
+      Thread thread = factory.newThread(runnable);
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+}
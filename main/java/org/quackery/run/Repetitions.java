@@ -0,0 +1,193 @@
+package org.quackery.run;
+
+import static java.lang.String.format;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+
+import org.quackery.Body;
+import org.quackery.report.AssertException;
+import org.quackery.report.AssumeException;
+
+/**
+ * Tally of many runs of one body. Each thread counts into its own tally, so successful runs do not
+ * allocate or synchronize, and tallies are merged when all threads finished. Throwables are
+ * distinct if their toString differs, only first one of each kind is kept. Failure of single run
+ * is reported as it was thrown.
+ */
+class Repetitions {
+  private long runs;
+  private long failures;
+  private final Map<String, Distinct> distinct = new LinkedHashMap<>();
+  private AssumeException assumed;
+
+  public static Body repeated(int times, Body body) {
+    return () -> {
+      Repetitions tally = new Repetitions();
+      for (int i = 0; i < times && tally.assumed == null; i++) {
+        if (Thread.interrupted()) {
+          throw new InterruptedException();
+        }
+        tally.run(body);
+      }
+      tally.report();
+    };
+  }
+
+  /** Calling thread is one of stressing threads, so stressing with one thread starts no threads. */
+  public static Body stressed(Duration duration, int threads, Body body) {
+    return () -> {
+      long[] deadline = new long[1];
+      CyclicBarrier start = new CyclicBarrier(threads,
+          () -> deadline[0] = System.nanoTime() + duration.toNanos());
+      Stressing[] stressings = new Stressing[threads];
+      List<Thread> helpers = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        stressings[i] = new Stressing(stressings, start, deadline, body);
+      }
+      for (int i = 1; i < threads; i++) {
+        Thread thread = new Thread(stressings[i]::run);
+        thread.setDaemon(true);
+        thread.start();
+        helpers.add(thread);
+      }
+      stressings[0].run();
+      boolean interrupted = Thread.interrupted();
+      if (interrupted) {
+        for (Stressing stressing : stressings) {
+          stressing.stopped = true;
+        }
+      }
+      for (Thread helper : helpers) {
+        while (true) {
+          try {
+            helper.join();
+            break;
+          } catch (InterruptedException e) {
+            interrupted = true;
+            for (Stressing stressing : stressings) {
+              stressing.stopped = true;
+            }
+          }
+        }
+      }
+      if (interrupted) {
+        throw new InterruptedException();
+      }
+      Repetitions tally = new Repetitions();
+      for (Stressing stressing : stressings) {
+        tally.merge(stressing.tally);
+      }
+      tally.report();
+    };
+  }
+
+  private void run(Body body) {
+    runs++;
+    try {
+      body.run();
+    } catch (AssumeException e) {
+      runs--;
+      assumed = e;
+    } catch (Throwable throwable) {
+      failures++;
+      String key = throwable.toString();
+      Distinct kind = distinct.get(key);
+      if (kind == null) {
+        distinct.put(key, new Distinct(throwable));
+      } else {
+        kind.count++;
+      }
+    }
+  }
+
+  private void merge(Repetitions other) {
+    runs += other.runs;
+    failures += other.failures;
+    for (Map.Entry<String, Distinct> entry : other.distinct.entrySet()) {
+      Distinct kind = distinct.get(entry.getKey());
+      if (kind == null) {
+        distinct.put(entry.getKey(), entry.getValue());
+      } else {
+        kind.count += entry.getValue().count;
+      }
+    }
+    if (assumed == null) {
+      assumed = other.assumed;
+    }
+  }
+
+  private void report() throws Throwable {
+    if (runs == 1 && failures == 1) {
+      throw distinct.values().iterator().next().first;
+    }
+    if (failures > 0) {
+      StringBuilder message = new StringBuilder(format("failed %s of %s runs", failures, runs));
+      for (Distinct kind : distinct.values()) {
+        message.append(format("\n  %s times %s", kind.count, kind.first));
+      }
+      List<Distinct> kinds = new ArrayList<>(distinct.values());
+      AssertException exception = new AssertException(message.toString(), kinds.get(0).first);
+      for (Distinct kind : kinds.subList(1, kinds.size())) {
+        exception.addSuppressed(kind.first);
+      }
+      throw exception;
+    }
+    if (assumed != null) {
+      throw assumed;
+    }
+  }
+
+  private static class Distinct {
+    private final Throwable first;
+    private long count = 1;
+
+    private Distinct(Throwable first) {
+      this.first = first;
+    }
+  }
+
+  private static class Stressing {
+    private final Stressing[] all;
+    private final CyclicBarrier start;
+    private final long[] deadline;
+    private final Body body;
+    private final Repetitions tally = new Repetitions();
+    private volatile boolean stopped;
+
+    private Stressing(Stressing[] all, CyclicBarrier start, long[] deadline, Body body) {
+      this.all = all;
+      this.start = start;
+      this.deadline = deadline;
+      this.body = body;
+    }
+
+    private void run() {
+      try {
+        start.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (BrokenBarrierException e) {
+        return;
+      }
+      long until = deadline[0];
+      do {
+        tally.run(body);
+      } while (!stopped
+          && tally.assumed == null
+          && System.nanoTime() - until < 0
+          && !Thread.currentThread().isInterrupted());
+      if (tally.assumed != null) {
+        for (Stressing stressing : all) {
+          stressing.stopped = true;
+        }
+      }
+    }
+  }
+}
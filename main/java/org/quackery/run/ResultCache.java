@@ -0,0 +1,247 @@
+package org.quackery.run;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static org.quackery.Case.newCase;
+import static org.quackery.QuackeryException.check;
+import static org.quackery.Suite.generated;
+import static org.quackery.Suite.suite;
+import static org.quackery.help.Helpers.isGenerated;
+import static org.quackery.help.Helpers.isSuite;
+import static org.quackery.help.Helpers.walk;
+import static org.quackery.report.Result.success;
+import static org.quackery.run.ClassDigest.digest;
+import static org.quackery.run.ClassDigest.hex;
+import static org.quackery.run.ClassDigest.sha256;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.quackery.Body;
+import org.quackery.Contract;
+import org.quackery.QuackeryException;
+import org.quackery.Test;
+import org.quackery.report.Result;
+
+/**
+ * Successful results stored in directory, so unchanged tests do not run again. Results are keyed
+ * by key of test and names of suites containing case. Only successes are stored, so failed case
+ * runs again and reports what it really throws. File is only appended to, one tab separated line
+ * per case, with path of case last. Delete directory to clear cache.
+ */
+public class ResultCache {
+  private final Path file;
+  private final ConcurrentMap<String, Result> results;
+  private final AtomicInteger hits = new AtomicInteger();
+  private final AtomicInteger misses = new AtomicInteger();
+
+  private ResultCache(Path file, ConcurrentMap<String, Result> results) {
+    this.file = file;
+    this.results = results;
+  }
+
+  public static ResultCache resultCache(Path directory) {
+    check(directory != null);
+    Path file = directory.resolve("results");
+    ConcurrentMap<String, Result> results = new ConcurrentHashMap<>();
+    try {
+      Files.createDirectories(directory);
+      if (Files.exists(file)) {
+        try (BufferedReader reader = Files.newBufferedReader(file, UTF_8)) {
+          String line;
+          while ((line = reader.readLine()) != null) {
+            String[] fields = line.split("\t", 4);
+            if (fields.length == 4) {
+              try {
+                results.put(entry(fields[0], fields[3]),
+                    success(Duration.ofNanos(Long.parseLong(fields[1])), fields[2]));
+              } catch (RuntimeException e) {}
+            }
+          }
+        }
+      }
+    } catch (IOException e) {
+      throw new QuackeryException(e);
+    }
+    return new ResultCache(file, results);
+  }
+
+  /**
+   * Key of each tested class covers bytecode of class and of contract, description of contract
+   * returned by its toString and version of jvm. Contract that does not describe its configuration
+   * in toString never hits cache. Class or contract without bytecode, like lambda, is not cached.
+   */
+  public Contract<Class<?>> cached(Contract<Class<?>> contract) {
+    check(contract != null);
+    byte[] contractDigest = digest(contract.getClass());
+    return type -> {
+      Test test = contract.test(type);
+      byte[] typeDigest = digest(type);
+      if (contractDigest.length == 0 || typeDigest.length == 0) {
+        return test;
+      }
+      MessageDigest key = sha256();
+      key.update(System.getProperty("java.version").getBytes(UTF_8));
+      key.update(contract.toString().getBytes(UTF_8));
+      key.update(contractDigest);
+      key.update(type.getName().getBytes(UTF_8));
+      key.update(typeDigest);
+      return cached(hex(key.digest()), new ArrayList<>(), test);
+    };
+  }
+
+  public Test cached(String key, Test test) {
+    check(key != null);
+    check(test != null);
+    return cached(hex(sha256().digest(key.getBytes(UTF_8))), new ArrayList<>(), test);
+  }
+
+  private Test cached(String key, List<String> parents, Test root) {
+    return cached(key, parents, false, new HashSet<>(), root);
+  }
+
+  /**
+   * Path of case is ambiguous if any suite on it, or case itself, has sibling with the same name.
+   * Ambiguous cases always run, so case cannot be served result of its namesake.
+   */
+  private Test cached(String key, List<String> parents, boolean ambiguousParent,
+      Set<String> duplicatedSiblings, Test root) {
+    List<String> path = new ArrayList<>(parents);
+    Deque<List<Test>> traversed = new ArrayDeque<>();
+    Deque<Boolean> ambiguous = new ArrayDeque<>();
+    Deque<Set<String>> duplicated = new ArrayDeque<>();
+    traversed.push(new ArrayList<>(1));
+    ambiguous.push(ambiguousParent);
+    duplicated.push(duplicatedSiblings);
+    walk(root,
+        test -> {
+          boolean descend = isSuite(test) && !isGenerated(test);
+          if (descend) {
+            String name = name(test);
+            traversed.push(new ArrayList<>());
+            ambiguous.push(ambiguous.peek() || duplicated.peek().contains(name));
+            duplicated.push(duplicatedNames(test.visit(
+                (caseName, body) -> null,
+                (suiteName, children) -> children)));
+            path.add(name);
+          }
+          return descend;
+        },
+        test -> {
+          Test cachedTest = test.visit(
+              (name, body) -> {
+                boolean ambiguousCase = ambiguous.peek() || duplicated.peek().contains(name);
+                path.add(name);
+                String pathKey = DurationHistory.key(path);
+                path.remove(path.size() - 1);
+                return ambiguousCase
+                    ? uncachedCase(name, body)
+                    : cachedCase(key, pathKey, name, body);
+              },
+              (name, children) -> {
+                if (isGenerated(test)) {
+                  boolean ambiguousSuite = ambiguous.peek() || duplicated.peek().contains(name);
+                  List<String> suitePath = new ArrayList<>(path);
+                  suitePath.add(name);
+                  Set<String> duplicatedChildren = duplicatedNames(children);
+                  return generated(name, () -> children.stream()
+                      .map(child -> cached(
+                          key, suitePath, ambiguousSuite, duplicatedChildren, child)));
+                }
+                path.remove(path.size() - 1);
+                ambiguous.pop();
+                duplicated.pop();
+                return suite(name).addAll(traversed.pop());
+              });
+          traversed.peek().add(cachedTest);
+        });
+    return traversed.pop().get(0);
+  }
+
+  private static Set<String> duplicatedNames(List<Test> tests) {
+    Set<String> names = new HashSet<>();
+    Set<String> duplicated = new HashSet<>();
+    for (Test test : tests) {
+      String name = name(test);
+      if (!names.add(name)) {
+        duplicated.add(name);
+      }
+    }
+    return duplicated;
+  }
+
+  private static String name(Test test) {
+    return test.visit((name, body) -> name, (name, children) -> name);
+  }
+
+  /** Counts hits and misses when case runs, so decorated tests that never run count nothing. */
+  private Test cachedCase(String key, String pathKey, String name, Body body) {
+    return newCase(name, () -> {
+      Result cachedResult = results.get(entry(key, pathKey));
+      if (cachedResult != null) {
+        hits.incrementAndGet();
+        cachedResult.run();
+        return;
+      }
+      misses.incrementAndGet();
+      long start = System.nanoTime();
+      body.run();
+      store(key, pathKey, success(Duration.ofNanos(System.nanoTime() - start),
+          Thread.currentThread().getName()));
+    });
+  }
+
+  private Test uncachedCase(String name, Body body) {
+    return newCase(name, () -> {
+      misses.incrementAndGet();
+      body.run();
+    });
+  }
+
+  private void store(String key, String pathKey, Result result) {
+    if (results.putIfAbsent(entry(key, pathKey), result) != null) {
+      return;
+    }
+    String line = key + "\t" + result.getDuration().toNanos() + "\t"
+        + result.getThreadName().replaceAll("[\t\n\r]", " ") + "\t" + pathKey + "\n";
+    synchronized (this) {
+      try {
+        Files.write(file, line.getBytes(UTF_8), CREATE, APPEND);
+      } catch (IOException e) {
+        throw new QuackeryException(e);
+      }
+    }
+  }
+
+  private static String entry(String key, String pathKey) {
+    return key + "\n" + pathKey;
+  }
+
+  /** Number of cases served from cache since this cache was created. */
+  public int getHits() {
+    return hits.get();
+  }
+
+  /** Number of cases that were not in cache and have to run. */
+  public int getMisses() {
+    return misses.get();
+  }
+
+  public String toString() {
+    return "ResultCache(hits=" + hits + ", misses=" + misses + ")";
+  }
+}
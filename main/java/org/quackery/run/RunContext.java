@@ -0,0 +1,116 @@
+package org.quackery.run;
+
+import static org.quackery.QuackeryException.check;
+import static org.quackery.common.ExecutorBuilder.executorBuilder;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.quackery.Test;
+
+/**
+ * Pool of threads shared by many runs. At most window cases are submitted and not yet finished.
+ * Submitting more blocks traversal until some of them finish, so cases should not wait for cases
+ * submitted after them.
+ */
+public class RunContext implements AutoCloseable {
+  private final ThreadPoolExecutor pool;
+  private final Semaphore window;
+  private final int windowSize;
+  private final AtomicInteger threadsCreated;
+
+  private RunContext(ThreadPoolExecutor pool, int windowSize, AtomicInteger threadsCreated) {
+    this.pool = pool;
+    this.window = new Semaphore(windowSize);
+    this.windowSize = windowSize;
+    this.threadsCreated = threadsCreated;
+  }
+
+  public static RunContext runContext(int poolSize, int windowSize) {
+    check(poolSize > 0);
+    check(windowSize > 0);
+    AtomicInteger threadsCreated = new AtomicInteger();
+    ThreadFactory defaultFactory = Executors.defaultThreadFactory();
+    ThreadPoolExecutor pool = executorBuilder()
+        .poolSize(poolSize)
+        .keepAlive(Duration.ofMinutes(1))
+        .allowCoreThreadTimeOut(true)
+        .threadFactory(runnable -> {
+          threadsCreated.incrementAndGet();
+          Thread thread = defaultFactory.newThread(runnable);
+          thread.setDaemon(true);
+          return thread;
+        })
+        .build();
+    return new RunContext(pool, windowSize, threadsCreated);
+  }
+
+  public static RunContext runContext() {
+    int processors = Runtime.getRuntime().availableProcessors();
+    return runContext(processors, 4 * processors);
+  }
+
+  public Test concurrent(Test test) {
+    check(!pool.isShutdown());
+    return Runners.in(windowed(), test);
+  }
+
+  private Executor windowed() {
+    return runnable -> {
+      window.acquireUninterruptibly();
+      try {
+        pool.execute(() -> {
+          try {
+            runnable.run();
+          } finally {
+            window.release();
+          }
+        });
+      } catch (RuntimeException e) {
+        window.release();
+        throw e;
+      }
+    };
+  }
+
+  public int getThreadsCreated() {
+    return threadsCreated.get();
+  }
+
+  public int getPoolSize() {
+    return pool.getPoolSize();
+  }
+
+  public int getQueueDepth() {
+    return pool.getQueue().size();
+  }
+
+  public int getInFlight() {
+    return windowSize - window.availablePermits();
+  }
+
+  public long getCompletedCount() {
+    return pool.getCompletedTaskCount();
+  }
+
+  public boolean isClosed() {
+    return pool.isTerminated();
+  }
+
+  /** Lets submitted cases finish and waits until all threads of pool are gone. */
+  public void close() {
+    pool.shutdown();
+    try {
+      while (!pool.awaitTermination(1, TimeUnit.SECONDS)) {}
+    } catch (InterruptedException e) {
+      pool.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+}
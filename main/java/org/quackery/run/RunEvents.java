@@ -0,0 +1,267 @@
+package org.quackery.run;
+
+import static java.util.Collections.unmodifiableList;
+import static org.quackery.Case.newCase;
+import static org.quackery.Suite.generated;
+import static org.quackery.Suite.suite;
+import static org.quackery.common.ExecutorBuilder.executorBuilder;
+import static org.quackery.help.Helpers.isGenerated;
+import static org.quackery.help.Helpers.isSuite;
+import static org.quackery.help.Helpers.walk;
+import static org.quackery.report.Result.failure;
+import static org.quackery.report.Result.success;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.quackery.Body;
+import org.quackery.Test;
+import org.quackery.report.Result;
+
+/**
+ * Events of one listened test. Threads running cases only append events to a batch, which is
+ * delivered to listener by another thread, one batch at a time. Each suite counts cases that did
+ * not finish yet. Generated suite also holds one extra count until all its children are generated,
+ * so it does not finish before its last case is even created. Case that finishes whole run waits
+ * until all events are delivered, so run is observed completely once all cases returned. Throwable
+ * thrown by listener is passed to uncaught exception handler of delivering thread, and delivery
+ * goes on with next event.
+ */
+class RunEvents {
+  private static final Executor DELIVERY = executorBuilder()
+      .poolSize(0, Integer.MAX_VALUE)
+      .keepAlive(Duration.ofSeconds(1))
+      .blockingQueue(SynchronousQueue::new)
+      .threadFactory(runnable -> {
+        Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+        thread.setDaemon(true);
+        return thread;
+      })
+      .build();
+
+  private final RunListener listener;
+  private List<Consumer<RunListener>> batch = new ArrayList<>();
+  private boolean delivering;
+
+  private RunEvents(RunListener listener) {
+    this.listener = listener;
+  }
+
+  public static Test listened(RunListener listener, Test root) {
+    RunEvents events = new RunEvents(listener);
+    Node run = new Node(null, null);
+    return events.listened(run, new ArrayList<>(), root);
+  }
+
+  private Test listened(Node parent, List<String> parentPath, Test root) {
+    List<String> path = new ArrayList<>(parentPath);
+    Deque<Node> nodes = new ArrayDeque<>();
+    nodes.push(parent);
+    Deque<List<Test>> traversed = new ArrayDeque<>();
+    traversed.push(new ArrayList<>(1));
+    walk(root,
+        test -> {
+          boolean descend = isSuite(test) && !isGenerated(test);
+          if (descend) {
+            path.add(test.visit((name, body) -> name, (name, children) -> name));
+            nodes.push(new Node(nodes.peek(), unmodifiableList(new ArrayList<>(path))));
+            traversed.push(new ArrayList<>());
+          }
+          return descend;
+        },
+        test -> {
+          Test listenedTest = test.visit(
+              (name, body) -> {
+                path.add(name);
+                List<String> casePath = unmodifiableList(new ArrayList<>(path));
+                path.remove(path.size() - 1);
+                register(nodes.peek());
+                return newCase(name, listened(nodes.peek(), casePath, body));
+              },
+              (name, children) -> {
+                if (isGenerated(test)) {
+                  path.add(name);
+                  Node node = new Node(nodes.peek(), unmodifiableList(new ArrayList<>(path)));
+                  path.remove(path.size() - 1);
+                  register(node);
+                  return generated(name, () -> generatedChildren(node, children));
+                }
+                nodes.pop();
+                path.remove(path.size() - 1);
+                return suite(name).addAll(traversed.pop());
+              });
+          traversed.peek().add(listenedTest);
+        });
+    return traversed.pop().get(0);
+  }
+
+  private Stream<Test> generatedChildren(Node node, List<Test> children) {
+    Iterator<Test> iterator = children.iterator();
+    Iterator<Test> listening = new Iterator<Test>() {
+      public boolean hasNext() {
+        boolean hasNext = iterator.hasNext();
+        if (!hasNext) {
+          finishGenerating(node);
+        }
+        return hasNext;
+      }
+
+      public Test next() {
+        return listened(node, node.path, iterator.next());
+      }
+    };
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(listening, Spliterator.ORDERED), false);
+  }
+
+  private Body listened(Node node, List<String> path, Body body) {
+    AtomicBoolean counted = new AtomicBoolean();
+    return () -> {
+      start(node, path);
+      String threadName = Thread.currentThread().getName();
+      long start = System.nanoTime();
+      Throwable thrown = null;
+      try {
+        body.run();
+      } catch (Throwable throwable) {
+        thrown = throwable;
+      }
+      Duration duration = Duration.ofNanos(System.nanoTime() - start);
+      Result result = thrown == null
+          ? success(duration, threadName)
+          : failure(thrown, duration, threadName);
+      synchronized (this) {
+        add(listener -> listener.caseFinished(path, result));
+      }
+      if (counted.compareAndSet(false, true)) {
+        release(node);
+      }
+      if (thrown != null) {
+        throw thrown;
+      }
+    };
+  }
+
+  private synchronized void register(Node node) {
+    for (Node ancestor = node; ancestor != null; ancestor = ancestor.parent) {
+      ancestor.pending++;
+    }
+  }
+
+  private synchronized void start(Node node, List<String> path) {
+    Deque<Node> notStarted = new ArrayDeque<>();
+    for (Node ancestor = node; ancestor != null && !ancestor.started; ancestor = ancestor.parent) {
+      ancestor.started = true;
+      notStarted.push(ancestor);
+    }
+    for (Node started : notStarted) {
+      if (started.path != null) {
+        add(listener -> listener.suiteStarted(started.path));
+      }
+    }
+    add(listener -> listener.caseStarted(path));
+  }
+
+  private void finishGenerating(Node node) {
+    synchronized (this) {
+      if (node.generated) {
+        return;
+      }
+      node.generated = true;
+    }
+    release(node);
+  }
+
+  /** Finishing whole run blocks until listener received all events. */
+  private void release(Node node) {
+    boolean runFinished = false;
+    synchronized (this) {
+      for (Node ancestor = node; ancestor != null; ancestor = ancestor.parent) {
+        ancestor.pending--;
+        if (ancestor.pending > 0) {
+          continue;
+        }
+        List<String> path = ancestor.path;
+        if (path != null) {
+          add(listener -> listener.suiteFinished(path));
+        } else {
+          add(listener -> listener.runFinished());
+          runFinished = true;
+        }
+      }
+    }
+    if (runFinished) {
+      awaitDelivery();
+    }
+  }
+
+  private void add(Consumer<RunListener> event) {
+    batch.add(event);
+    if (!delivering) {
+      delivering = true;
+      DELIVERY.execute(this::deliver);
+    }
+  }
+
+  private void deliver() {
+    while (true) {
+      List<Consumer<RunListener>> delivered;
+      synchronized (this) {
+        if (batch.isEmpty()) {
+          delivering = false;
+          notifyAll();
+          return;
+        }
+        delivered = batch;
+        batch = new ArrayList<>();
+      }
+      for (Consumer<RunListener> event : delivered) {
+        try {
+          event.accept(listener);
+        } catch (Throwable throwable) {
+          Thread thread = Thread.currentThread();
+          thread.getUncaughtExceptionHandler().uncaughtException(thread, throwable);
+        }
+      }
+    }
+  }
+
+  private synchronized void awaitDelivery() {
+    boolean interrupted = false;
+    while (delivering) {
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static class Node {
+    private final Node parent;
+    private final List<String> path;
+    private long pending;
+    private boolean started;
+    private boolean generated;
+
+    private Node(Node parent, List<String> path) {
+      this.parent = parent;
+      this.path = path;
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package org.quackery.run;
+
+import java.util.List;
+
+import org.quackery.report.Result;
+
+/**
+ * Observes progress of tests decorated by Runners.listened. Path contains names of all suites
+ * from the root down to given test, including its own name. Methods are never called
+ * concurrently, but they are called by thread different than threads running tests.
+ */
+public interface RunListener {
+  default void suiteStarted(List<String> path) {}
+
+  default void suiteFinished(List<String> path) {}
+
+  default void caseStarted(List<String> path) {}
+
+  default void caseFinished(List<String> path, Result result) {}
+
+  default void runFinished() {}
+}
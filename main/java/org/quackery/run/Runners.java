@@ -1,62 +1,415 @@
 package org.quackery.run;
 
+import static java.lang.String.format;
+import static java.lang.reflect.Modifier.isStatic;
+import static java.util.Spliterator.ORDERED;
+import static java.util.Spliterators.spliteratorUnknownSize;
+import static org.quackery.Case.newCase;
 import static org.quackery.QuackeryException.check;
+import static org.quackery.Suite.generated;
+import static org.quackery.Suite.suite;
 import static org.quackery.common.ExecutorBuilder.executorBuilder;
 import static org.quackery.common.Interrupter.interrupter;
+import static org.quackery.common.VirtualThreads.virtualThreadFactory;
+import static org.quackery.common.VirtualThreads.virtualThreadPerTaskExecutor;
+import static org.quackery.help.Helpers.failingCase;
+import static org.quackery.help.Helpers.isGenerated;
+import static org.quackery.help.Helpers.isSuite;
+import static org.quackery.help.Helpers.traverse;
 import static org.quackery.help.Helpers.traverseBodies;
+import static org.quackery.help.Helpers.walk;
+import static org.quackery.report.Result.failure;
+import static org.quackery.report.Result.success;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.quackery.Body;
+import org.quackery.QuackeryException;
 import org.quackery.Test;
 import org.quackery.common.Interrupter;
 import org.quackery.report.AssertException;
+import org.quackery.report.AssumeException;
+import org.quackery.report.Result;
 
 public class Runners {
   public static Test run(Test root) {
     check(root != null);
-    return traverseBodies(root, body -> run(body));
+    return traverse(root,
+        test -> test.visit(
+            (name, body) -> {
+              Result result = run(body);
+              return result == body
+                  ? test
+                  : newCase(name, result);
+            },
+            (name, children) -> isGenerated(test)
+                ? suite(name).addAll(children)
+                : test));
   }
 
-  private static Body run(Body body) {
+  private static Result run(Body body) {
+    if (body instanceof Result) {
+      return (Result) body;
+    }
+    String threadName = Thread.currentThread().getName();
+    long start = System.nanoTime();
     try {
+      if (body instanceof PendingResult) {
+        return ((PendingResult) body).get();
+      }
       body.run();
     } catch (Throwable throwable) {
-      return () -> {
-        throw throwable;
-      };
+      return failure(throwable, Duration.ofNanos(System.nanoTime() - start), threadName);
     }
-    return () -> {};
+    return success(Duration.ofNanos(System.nanoTime() - start), threadName);
   }
 
   public static Test in(Executor executor, Test root) {
     check(root != null);
     check(executor != null);
-    return traverseBodies(root, body -> futureBody(executor, body));
+    return in(executor, (Window) null, root);
+  }
+
+  private static Test in(Executor executor, Window window, Test root) {
+    Deque<List<Test>> submitted = new ArrayDeque<>();
+    submitted.push(new ArrayList<>(1));
+    walk(root,
+        test -> {
+          boolean descend = isSuite(test) && !isGenerated(test);
+          if (descend) {
+            submitted.push(new ArrayList<>());
+          }
+          return descend;
+        },
+        test -> {
+          Test submittedTest = test.visit(
+              (name, body) -> newCase(name, window == null
+                  ? futureBody(executor, body)
+                  : window.defer(body)),
+              (name, children) -> isGenerated(test)
+                  ? generated(name, () -> {
+                    Window childrenWindow = new Window(executor);
+                    return prefetched(Runtime.getRuntime().availableProcessors(), children.stream()
+                        .map(child -> in(executor, childrenWindow, child)));
+                  })
+                  : suite(name).addAll(submitted.pop()));
+          submitted.peek().add(submittedTest);
+        });
+    return submitted.pop().get(0);
+  }
+
+  /**
+   * Like in, but submits cases that took longest in previous runs first, so slow cases do not end
+   * up running alone after all others finished. Cases missing from history are submitted before
+   * all others. Each case records its duration in history, which has to be saved to be used by
+   * next run. Cases of generated suites are submitted in order, as they are generated.
+   */
+  public static Test in(Executor executor, DurationHistory history, Test root) {
+    check(executor != null);
+    check(history != null);
+    check(root != null);
+    List<String> path = new ArrayList<>();
+    List<Scheduled> scheduled = new ArrayList<>();
+    Deque<List<Test>> submitted = new ArrayDeque<>();
+    submitted.push(new ArrayList<>(1));
+    walk(root,
+        test -> {
+          boolean descend = isSuite(test) && !isGenerated(test);
+          if (descend) {
+            submitted.push(new ArrayList<>());
+            path.add(test.visit((name, body) -> name, (name, children) -> name));
+          }
+          return descend;
+        },
+        test -> {
+          Test submittedTest = test.visit(
+              (name, body) -> {
+                path.add(name);
+                String key = DurationHistory.key(path);
+                path.remove(path.size() - 1);
+                Submitted submittedBody = new Submitted(history.recorded(key, body), null);
+                scheduled.add(new Scheduled(history.nanosOf(key), submittedBody.future));
+                return newCase(name, submittedBody);
+              },
+              (name, children) -> {
+                if (isGenerated(test)) {
+                  return in(executor, (Window) null, test);
+                }
+                path.remove(path.size() - 1);
+                return suite(name).addAll(submitted.pop());
+              });
+          submitted.peek().add(submittedTest);
+        });
+    scheduled.sort(Comparator.comparingLong((Scheduled task) -> task.nanos).reversed());
+    for (Scheduled task : scheduled) {
+      executor.execute(task.future);
+    }
+    return submitted.pop().get(0);
+  }
+
+  private static class Scheduled {
+    private final long nanos;
+    private final Runnable future;
+
+    private Scheduled(long nanos, Runnable future) {
+      this.nanos = nanos;
+      this.future = future;
+    }
   }
 
   private static Body futureBody(Executor executor, Body body) {
-    FutureTask<Body> future = new FutureTask<Body>(() -> run(body));
-    executor.execute(future);
-    return () -> future.get().run();
+    Submitted submitted = new Submitted(body, null);
+    executor.execute(submitted.future);
+    return submitted;
+  }
+
+  /** Body submitted to executor. Running it waits for result computed by executor's thread. */
+  private static class Submitted implements PendingResult {
+    private final FutureTask<Result> future;
+    private final Window window;
+
+    public Submitted(Body body, Window window) {
+      this.future = new FutureTask<Result>(() -> Runners.run(body));
+      this.window = window;
+    }
+
+    public Result get() throws InterruptedException, ExecutionException {
+      if (window != null) {
+        window.submitDeferred();
+      }
+      return future.get();
+    }
+  }
+
+  /**
+   * Cases of generated suite are submitted only after some of them is run, so traversing generated
+   * suite without running it does not run anything. Running case submits all cases prefetched so
+   * far, which bounds number of cases in flight by prefetched window.
+   */
+  private static class Window {
+    private final Executor executor;
+    private final Queue<FutureTask<Result>> deferred = new ConcurrentLinkedQueue<>();
+
+    public Window(Executor executor) {
+      this.executor = executor;
+    }
+
+    public Body defer(Body body) {
+      Submitted submitted = new Submitted(body, this);
+      deferred.add(submitted.future);
+      return submitted;
+    }
+
+    private void submitDeferred() {
+      FutureTask<Result> future;
+      while ((future = deferred.poll()) != null) {
+        executor.execute(future);
+      }
+    }
+  }
+
+  private static <T> Stream<T> prefetched(int size, Stream<T> stream) {
+    Iterator<T> source = stream.iterator();
+    Deque<T> buffer = new ArrayDeque<>(size);
+    Iterator<T> prefetching = new Iterator<T>() {
+      public boolean hasNext() {
+        prefetch();
+        return !buffer.isEmpty();
+      }
+
+      public T next() {
+        prefetch();
+        if (buffer.isEmpty()) {
+          throw new NoSuchElementException();
+        }
+        T next = buffer.poll();
+        prefetch();
+        return next;
+      }
+
+      private void prefetch() {
+        while (buffer.size() < size && source.hasNext()) {
+          buffer.add(source.next());
+        }
+      }
+    };
+    return StreamSupport.stream(spliteratorUnknownSize(prefetching, ORDERED), false);
+  }
+
+  /**
+   * Runs cases in fork join pool without putting them all in one queue. Each suite is a task that
+   * runs its cases in place and forks its subsuites, so idle workers steal whole subtrees. Cases
+   * of big suite are split in halves as long as there are workers idle enough to steal them.
+   */
+  public static Test forkJoin(ForkJoinPool pool, Test root) {
+    check(pool != null);
+    check(root != null);
+    Deque<List<Test>> submitted = new ArrayDeque<>();
+    Deque<List<Runnable>> tasks = new ArrayDeque<>();
+    submitted.push(new ArrayList<>(1));
+    tasks.push(new ArrayList<>(1));
+    walk(root,
+        test -> {
+          boolean descend = isSuite(test) && !isGenerated(test);
+          if (descend) {
+            submitted.push(new ArrayList<>());
+            tasks.push(new ArrayList<>());
+          }
+          return descend;
+        },
+        test -> {
+          Test submittedTest = test.visit(
+              (name, body) -> {
+                Submitted submittedBody = new Submitted(body, null);
+                tasks.peek().add(submittedBody.future);
+                return newCase(name, submittedBody);
+              },
+              (name, children) -> {
+                if (isGenerated(test)) {
+                  return in(pool, (Window) null, test);
+                }
+                List<Runnable> subtree = tasks.pop();
+                tasks.peek().add(() -> new Subtree(subtree, 0, subtree.size()).fork());
+                return suite(name).addAll(submitted.pop());
+              });
+          submitted.peek().add(submittedTest);
+        });
+    List<Runnable> rootTasks = tasks.pop();
+    pool.execute(new Subtree(rootTasks, 0, rootTasks.size()));
+    return submitted.pop().get(0);
+  }
+
+  private static class Subtree extends RecursiveAction {
+    private final List<Runnable> tasks;
+    private final int from;
+    private final int to;
+
+    public Subtree(List<Runnable> tasks, int from, int to) {
+      this.tasks = tasks;
+      this.from = from;
+      this.to = to;
+    }
+
+    protected void compute() {
+      int end = to;
+      while (end - from > 1 && getSurplusQueuedTaskCount() <= 3) {
+        int middle = (from + end) >>> 1;
+        new Subtree(tasks, middle, end).fork();
+        end = middle;
+      }
+      for (int i = from; i < end; i++) {
+        tasks.get(i).run();
+      }
+    }
+  }
+
+  /**
+   * Runs cases in given number of separate jvms, started with the same classpath. Bodies cannot be
+   * sent to other jvm, so test is created by given public static method without parameters. It is
+   * called once in this jvm and once in each worker jvm, and has to return the same hierarchy each
+   * time. Cases of one suite run in the same jvm, if suite is small enough.
+   */
+  public static Test forked(int jvms, Method source) {
+    check(jvms > 0);
+    check(source != null);
+    check(isStatic(source.getModifiers()));
+    check(source.getParameterTypes().length == 0);
+    check(Test.class.isAssignableFrom(source.getReturnType()));
+    Test root;
+    try {
+      source.setAccessible(true);
+      root = (Test) source.invoke(null);
+    } catch (InvocationTargetException e) {
+      return failingCase(source.getName(), e.getCause());
+    } catch (IllegalAccessException e) {
+      throw new QuackeryException(e);
+    }
+    check(root != null);
+    return Forked.forked(jvms, source, root);
   }
 
   public static Test concurrent(Test test) {
-    Executor executor = executorBuilder()
+    return in(processorsExecutor(), test);
+  }
+
+  public static Test concurrent(DurationHistory history, Test test) {
+    return in(processorsExecutor(), history, test);
+  }
+
+  private static Executor processorsExecutor() {
+    return executorBuilder()
         .poolSize(Runtime.getRuntime().availableProcessors())
         .keepAlive(Duration.ofNanos(1))
         .allowCoreThreadTimeOut(true)
         .build();
-    return in(executor, test);
+  }
+
+  /**
+   * Runs each case in its own virtual thread, so cases that block do not hold processors. On jvm
+   * without virtual threads it works like concurrent.
+   */
+  public static Test virtualThreads(Test test) {
+    return in(virtualThreadPerTaskExecutor().orElseGet(() -> processorsExecutor()), test);
+  }
+
+  /**
+   * Wraps every body with all decorators in a single traversal. Decorators are applied in given
+   * order, so the last one is outermost. Decorator that returns body unchanged does not cause any
+   * case or suite to be copied.
+   */
+  @SafeVarargs
+  public static Test decorate(Test root, Function<Body, Body>... decorators) {
+    check(root != null);
+    check(decorators != null);
+    List<Function<Body, Body>> chain = new ArrayList<>();
+    for (Function<Body, Body> decorator : decorators) {
+      check(decorator != null);
+      if (decorator != Function.<Body> identity()) {
+        chain.add(decorator);
+      }
+    }
+    if (chain.isEmpty()) {
+      return root;
+    }
+    return traverseBodies(root, body -> {
+      Body decorated = body;
+      for (Function<Body, Body> decorator : chain) {
+        decorated = decorator.apply(decorated);
+      }
+      return decorated;
+    });
   }
 
   public static Test expect(Class<? extends Throwable> throwable, Test test) {
     check(test != null);
-    return traverseBodies(test, body -> expect(throwable, body));
+    return decorate(test, expect(throwable));
+  }
+
+  public static Function<Body, Body> expect(Class<? extends Throwable> throwable) {
+    return body -> expect(throwable, body);
   }
 
   private static Body expect(Class<? extends Throwable> expected, Body body) {
@@ -76,10 +429,184 @@ public class Runners {
     };
   }
 
+  public static Test failFast(Test test) {
+    check(test != null);
+    return decorate(test, failFast());
+  }
+
+  public static Function<Body, Body> failFast() {
+    return failureBudget(1);
+  }
+
+  /**
+   * After given number of cases failed, cases that did not start yet are skipped and cases that
+   * are running are interrupted. Both are reported as misassumptions. Budget is shared by all
+   * bodies decorated with the same function.
+   */
+  public static Test failureBudget(int failures, Test test) {
+    check(failures > 0);
+    check(test != null);
+    return decorate(test, failureBudget(failures));
+  }
+
+  public static Function<Body, Body> failureBudget(int failures) {
+    check(failures > 0);
+    Cancellation cancellation = new Cancellation();
+    AtomicInteger failed = new AtomicInteger();
+    String reason = format("failure budget of %s exhausted", failures);
+    return body -> cancellation.guarded(() -> {
+      try {
+        body.run();
+      } catch (AssumeException e) {
+        throw e;
+      } catch (Throwable throwable) {
+        if (failed.incrementAndGet() >= failures) {
+          cancellation.cancel(reason);
+        }
+        throw throwable;
+      }
+    });
+  }
+
+  /**
+   * Runs each case given number of times in a row. Case fails if any run failed, with message
+   * counting failed runs and each distinct throwable, first of which is cause and others are
+   * suppressed. Misassumption stops repeating and is reported if no run failed.
+   */
+  public static Test repeat(int times, Test test) {
+    check(times > 0);
+    check(test != null);
+    return decorate(test, repeat(times));
+  }
+
+  public static Function<Body, Body> repeat(int times) {
+    check(times > 0);
+    return body -> Repetitions.repeated(times, body);
+  }
+
+  /**
+   * Like repeat, but runs each case over and over in given number of threads at once until
+   * duration passes. Threads wait for each other before first run, so they start together.
+   */
+  public static Test stress(Duration duration, int threads, Test test) {
+    check(!duration.isNegative());
+    check(threads > 0);
+    check(test != null);
+    return decorate(test, stress(duration, threads));
+  }
+
+  public static Function<Body, Body> stress(Duration duration, int threads) {
+    check(!duration.isNegative());
+    check(threads > 0);
+    return body -> Repetitions.stressed(duration, threads, body);
+  }
+
+  /**
+   * Reports progress of cases to listener while they run, in whatever thread or order. Suite starts
+   * when its first case starts and finishes when its last case finishes. Listener receives all
+   * events, including runFinished, before the last case of test returns. Throwable thrown by
+   * listener does not stop delivery, it is passed to uncaught exception handler instead.
+   */
+  public static Test listened(RunListener listener, Test test) {
+    check(listener != null);
+    check(test != null);
+    return RunEvents.listened(listener, test);
+  }
+
+  /**
+   * Limits time of whole test instead of each case. Deadline is counted from start of first case.
+   * Alarm is armed only while some case is running, so it does not outlive the test. When it
+   * fires, cases that are running are interrupted and fail, and cases that did not start yet are
+   * skipped. Nested deadlines apply together, so inner cases get whatever is left of outer
+   * deadline if it is shorter. All bodies decorated with the same function share the deadline.
+   */
+  public static Test deadline(Duration duration, Test test) {
+    check(!duration.isNegative());
+    check(test != null);
+    return decorate(test, deadline(duration));
+  }
+
+  public static Function<Body, Body> deadline(Duration duration) {
+    check(!duration.isNegative());
+    Cancellation cancellation = new Cancellation(true);
+    String reason = format("deadline of %s exceeded", duration);
+    Deadline deadline = new Deadline(duration, () -> cancellation.cancel(reason));
+    return body -> {
+      Body guarded = cancellation.guarded(body);
+      return () -> {
+        deadline.enter();
+        try {
+          guarded.run();
+        } finally {
+          deadline.exit();
+        }
+      };
+    };
+  }
+
+  /** Alarm armed by first case that enters and cancelled by last case that exits. */
+  private static class Deadline {
+    private final Duration duration;
+    private final Runnable action;
+    private final Interrupter interrupter = interrupter();
+    private long endNanos;
+    private boolean started;
+    private int running;
+    private Future<?> alarm;
+
+    private Deadline(Duration duration, Runnable action) {
+      this.duration = duration;
+      this.action = action;
+    }
+
+    private synchronized void enter() {
+      long now = System.nanoTime();
+      boolean first = !started;
+      if (first) {
+        started = true;
+        endNanos = now + duration.toNanos();
+      }
+      if (running++ == 0) {
+        if (first || endNanos - now > 0) {
+          alarm = interrupter.schedule(Duration.ofNanos(endNanos - now), action);
+        } else {
+          action.run();
+        }
+      }
+    }
+
+    private synchronized void exit() {
+      if (--running == 0 && alarm != null) {
+        alarm.cancel(false);
+        alarm = null;
+      }
+    }
+  }
+
   public static Test timeout(Duration duration, Test test) {
     check(!duration.isNegative());
     check(test != null);
-    return traverseBodies(test, body -> timeout(duration, body, interrupter()));
+    return decorate(test, timeout(duration));
+  }
+
+  public static Function<Body, Body> timeout(Duration duration) {
+    check(!duration.isNegative());
+    Interrupter interrupter = interrupter();
+    return body -> timeout(duration, body, interrupter);
+  }
+
+  public static Test virtualTimeout(Duration duration, Test test) {
+    check(!duration.isNegative());
+    check(test != null);
+    return decorate(test, virtualTimeout(duration));
+  }
+
+  /**
+   * Same as timeout. Alarms of all cases are served by single worker of timer wheel, so timeout
+   * does not hold thread per case and there is nothing left to make virtual.
+   */
+  public static Function<Body, Body> virtualTimeout(Duration duration) {
+    return timeout(duration);
   }
 
   private static Body timeout(Duration duration, Body body, Interrupter interrupter) {
@@ -98,13 +625,40 @@ public class Runners {
 
   public static Test threadScoped(Test root) {
     check(root != null);
-    return traverseBodies(root, body -> threadScoped(body));
+    return decorate(root, threadScoped());
   }
 
-  private static Body threadScoped(Body body) {
+  public static Function<Body, Body> threadScoped() {
+    return body -> threadScoped(Thread::new, body);
+  }
+
+  /**
+   * Like threadScoped, but reuses threads. Each body still starts with cleared interrupt status and
+   * thread locals, and with context class loader of thread that runs it.
+   */
+  public static Test pooledThreadScoped(Test root) {
+    check(root != null);
+    return decorate(root, pooledThreadScoped());
+  }
+
+  public static Function<Body, Body> pooledThreadScoped() {
+    return body -> PooledThreads.pooledThreadScoped(body);
+  }
+
+  public static Test virtualThreadScoped(Test root) {
+    check(root != null);
+    return decorate(root, virtualThreadScoped());
+  }
+
+  public static Function<Body, Body> virtualThreadScoped() {
+    ThreadFactory factory = virtualThreadFactory().orElse(Thread::new);
+    return body -> threadScoped(factory, body);
+  }
+
+  private static Body threadScoped(ThreadFactory factory, Body body) {
     return () -> {
       AtomicReference<Throwable> throwable = new AtomicReference<>(null);
-      Thread thread = new Thread(new Runnable() {
+      Thread thread = factory.newThread(new Runnable() {
         public void run() {
           try {
             body.run();
@@ -129,7 +683,27 @@ public class Runners {
 
   public static Test classLoaderScoped(Test root) {
     check(root != null);
-    return traverseBodies(root, body -> classLoaderScoped(body));
+    return decorate(root, classLoaderScoped());
+  }
+
+  public static Function<Body, Body> classLoaderScoped() {
+    return body -> classLoaderScoped(body);
+  }
+
+  /** All cases of given test, including cases of its subsuites, share context class loader. */
+  public static Test suiteClassLoaderScoped(Test root) {
+    check(root != null);
+    return ClassLoaderScope.scoped(root);
+  }
+
+  /**
+   * All cases of given test, and of other tests scoped with the same group name, share context
+   * class loader until all of them have run. Running them again shares new loader.
+   */
+  public static Test classLoaderScoped(String group, Test root) {
+    check(group != null);
+    check(root != null);
+    return ClassLoaderScope.grouped(group, root);
   }
 
   private static Body classLoaderScoped(Body body) {
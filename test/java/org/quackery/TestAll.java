@@ -4,19 +4,35 @@ import static java.lang.String.format;
 import static net.bytebuddy.TestByteBuddy.test_byte_buddy;
 import static org.quackery.TestCase.test_case;
 import static org.quackery.TestSuite.test_suite;
+import static org.quackery.common.TestInterrupter.test_interrupter;
+import static org.quackery.contract.collection.TestCollectionBenchmark.test_collection_benchmark;
 import static org.quackery.contract.collection.TestCollectionContract.test_collection_contract;
 import static org.quackery.junit.TestQuackeryRunner.test_quackery_runner;
 import static org.quackery.report.TestAssertException.test_assert_exception;
 import static org.quackery.report.TestAssumeException.test_assume_exception;
 import static org.quackery.report.TestReportsCountThrowables.test_reports_count_throwables;
 import static org.quackery.report.TestReportsFormat.test_reports_format;
+import static org.quackery.report.TestResult.test_result;
+import static org.quackery.run.TestAdaptiveConcurrency.test_adaptive_concurrency;
+import static org.quackery.run.TestDurationHistory.test_duration_history;
+import static org.quackery.run.TestResultCache.test_result_cache;
+import static org.quackery.run.TestRunContext.test_run_context;
 import static org.quackery.run.TestRunnersClassLoaderScoped.test_runners_class_loader_scoped;
+import static org.quackery.run.TestRunnersDeadline.test_runners_deadline;
+import static org.quackery.run.TestRunnersDecorate.test_runners_decorate;
 import static org.quackery.run.TestRunnersExpect.test_runners_expect;
+import static org.quackery.run.TestRunnersFailureBudget.test_runners_failure_budget;
+import static org.quackery.run.TestRunnersForkJoin.test_runners_fork_join;
+import static org.quackery.run.TestRunnersForked.test_runners_forked;
+import static org.quackery.run.TestRunnersListened.test_runners_listened;
+import static org.quackery.run.TestRunnersPooledThreadScoped.test_runners_pooled_thread_scoped;
+import static org.quackery.run.TestRunnersRepeat.test_runners_repeat;
 import static org.quackery.run.TestRunnersRun.test_runners_run;
 import static org.quackery.run.TestRunnersRunConcurrent.test_runners_run_concurrent;
 import static org.quackery.run.TestRunnersRunIn.test_runners_run_in;
 import static org.quackery.run.TestRunnersThreadScoped.test_runners_thread_scoped;
 import static org.quackery.run.TestRunnersTimeout.test_runners_timeout;
+import static org.quackery.run.TestRunnersVirtualThreads.test_runners_virtual_threads;
 
 public class TestAll {
   public static void main(String[] args) throws Throwable {
@@ -27,22 +43,39 @@ public class TestAll {
     test_case();
     test_suite();
 
+    test_interrupter();
+
     test_runners_run();
     test_runners_run_in();
     test_runners_run_concurrent();
+    test_runners_fork_join();
+    test_runners_forked();
+    test_duration_history();
+    test_result_cache();
+    test_run_context();
+    test_adaptive_concurrency();
     test_runners_expect();
     test_runners_timeout();
+    test_runners_deadline();
+    test_runners_failure_budget();
+    test_runners_listened();
+    test_runners_repeat();
     test_runners_thread_scoped();
+    test_runners_pooled_thread_scoped();
     test_runners_class_loader_scoped();
+    test_runners_decorate();
+    test_runners_virtual_threads();
 
     test_assert_exception();
     test_assume_exception();
     test_reports_count_throwables();
     test_reports_format();
+    test_result();
 
     test_quackery_runner();
 
     test_collection_contract();
+    test_collection_benchmark();
 
     long stop = System.nanoTime();
     System.out.println(format("finished in %.3f seconds", 1E-9 * (stop - start)));
@@ -1,6 +1,7 @@
 package org.quackery;
 
 import static java.util.Arrays.asList;
+import static org.quackery.Suite.generated;
 import static org.quackery.Suite.suite;
 import static org.quackery.testing.Testing.assertChildren;
 import static org.quackery.testing.Testing.assertEquals;
@@ -12,7 +13,10 @@ import static org.quackery.testing.Testing.mockContract;
 import static org.quackery.testing.Testing.mockObject;
 import static org.quackery.testing.Testing.nameOf;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 public class TestSuite {
   public static void test_suite() {
@@ -25,6 +29,12 @@ public class TestSuite {
     adds_tests_produced_by_contract_and_items_from_iterable();
     adds_tests_produced_by_contract_and_items_from_array();
     allows_wildcards();
+    added_tests_do_not_affect_other_suites();
+    adds_many_tests();
+    children_are_unmodifiable();
+    generates_tests_on_each_traversal();
+    adds_tests_to_generated_suite();
+    adds_many_tests_to_generated_suite();
     implements_to_string();
     validates_arguments();
   }
@@ -166,6 +176,110 @@ public class TestSuite {
         .addAll(covariantItems, contravariantContract);
   }
 
+  private static void added_tests_do_not_affect_other_suites() {
+    Test testA = mockCase("caseA");
+    Test testB = mockCase("caseB");
+    Test testC = mockCase("caseC");
+    Test testD = mockCase("caseD");
+
+    Suite suite = suite("suite").add(testA);
+    Suite suiteB = suite.add(testB);
+    Suite suiteC = suite.add(testC);
+    Suite suiteD = suite.addAll(asList(testD, testD));
+    Suite suiteBC = suiteB.add(testC);
+
+    assertChildren(suite, asList(testA));
+    assertChildren(suiteB, asList(testA, testB));
+    assertChildren(suiteC, asList(testA, testC));
+    assertChildren(suiteD, asList(testA, testD, testD));
+    assertChildren(suiteBC, asList(testA, testB, testC));
+  }
+
+  private static void adds_many_tests() {
+    int count = 100_000;
+    List<Test> tests = new ArrayList<>();
+    Suite suite = suite("suite");
+    for (int i = 0; i < count; i++) {
+      Test test = mockCase("case" + i);
+      tests.add(test);
+      suite = suite.add(test);
+    }
+
+    assertChildren(suite, tests);
+  }
+
+  private static void children_are_unmodifiable() {
+    List<Test> children = childrenOf(suite("suite")
+        .add(mockCase("caseA")));
+
+    try {
+      children.add(mockCase("caseB"));
+      fail();
+    } catch (UnsupportedOperationException e) {}
+    try {
+      children.remove(0);
+      fail();
+    } catch (UnsupportedOperationException e) {}
+    try {
+      children.set(0, mockCase("caseB"));
+      fail();
+    } catch (UnsupportedOperationException e) {}
+  }
+
+  private static void generates_tests_on_each_traversal() {
+    Test testA = mockCase("caseA");
+    Test testB = mockCase("caseB");
+    AtomicInteger generated = new AtomicInteger();
+
+    Suite suite = generated("suite", () -> {
+      generated.incrementAndGet();
+      return Stream.of(testA, testB);
+    });
+
+    assertEquals(generated.get(), 0);
+    assertTrue(suite.isGenerated());
+    assertEquals(nameOf(suite), "suite");
+    assertEquals(new ArrayList<>(childrenOf(suite)), asList(testA, testB));
+    assertEquals(generated.get(), 1);
+    assertEquals(new ArrayList<>(childrenOf(suite)), asList(testA, testB));
+    assertEquals(generated.get(), 2);
+  }
+
+  private static void adds_tests_to_generated_suite() {
+    Test testA = mockCase("caseA");
+    Test testB = mockCase("caseB");
+    Test testC = mockCase("caseC");
+    AtomicInteger generated = new AtomicInteger();
+
+    Suite suite = generated("suite", () -> {
+      generated.incrementAndGet();
+      return Stream.of(testA);
+    })
+        .add(testB)
+        .addAll(asList(testC));
+
+    assertEquals(generated.get(), 0);
+    assertTrue(suite.isGenerated());
+    assertEquals(new ArrayList<>(childrenOf(suite)), asList(testA, testB, testC));
+    assertTrue(!suite("suite").isGenerated());
+  }
+
+  private static void adds_many_tests_to_generated_suite() {
+    int count = 100_000;
+    Test testA = mockCase("caseA");
+    List<Test> tests = new ArrayList<>(asList(testA));
+    Suite suite = generated("suite", () -> Stream.of(testA));
+    Suite other = suite.add(testA);
+    for (int i = 0; i < count; i++) {
+      Test test = mockCase("case" + i);
+      tests.add(test);
+      suite = suite.add(test);
+    }
+
+    assertEquals(new ArrayList<>(childrenOf(suite)), tests);
+    assertEquals(new ArrayList<>(childrenOf(other)), asList(testA, testA));
+  }
+
   private static void implements_to_string() {
     String name = "name";
 
@@ -185,6 +299,18 @@ public class TestSuite {
       suite(null);
       fail();
     } catch (QuackeryException e) {}
+    try {
+      generated(null, () -> Stream.of(testA));
+      fail();
+    } catch (QuackeryException e) {}
+    try {
+      generated("suite", null);
+      fail();
+    } catch (QuackeryException e) {}
+    try {
+      childrenOf(generated("suite", () -> Stream.of(testA, null, testB))).forEach(child -> {});
+      fail();
+    } catch (QuackeryException e) {}
 
     try {
       suite.add(null);
@@ -0,0 +1,119 @@
+package org.quackery.common;
+
+import static org.quackery.common.Interrupter.interrupter;
+import static org.quackery.testing.Testing.assertTrue;
+import static org.quackery.testing.Testing.fail;
+import static org.quackery.testing.Testing.seconds;
+import static org.quackery.testing.Testing.sleep;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestInterrupter {
+  public static void test_interrupter() throws Throwable {
+    interrupts_thread_after_delay();
+    does_not_interrupt_after_cancel();
+    runs_scheduled_action();
+    shares_interrupter();
+    stops_worker_when_idle();
+    fires_many_alarms_on_time();
+  }
+
+  private static void interrupts_thread_after_delay() throws Throwable {
+    Future<Void> alarm = interrupter().interruptMe(seconds(0.01));
+    try {
+      sleep(1);
+      fail();
+    } catch (InterruptedException e) {}
+    assertTrue(alarm.isDone());
+    assertTrue(!alarm.isCancelled());
+  }
+
+  private static void does_not_interrupt_after_cancel() throws Throwable {
+    Future<Void> alarm = interrupter().interruptMe(seconds(0.01));
+    assertTrue(alarm.cancel(true));
+    sleep(0.03);
+    assertTrue(!Thread.interrupted());
+    assertTrue(alarm.isCancelled());
+    assertTrue(!alarm.cancel(true));
+    try {
+      alarm.get();
+      fail();
+    } catch (CancellationException e) {}
+  }
+
+  private static void runs_scheduled_action() throws Throwable {
+    AtomicInteger ran = new AtomicInteger();
+    Future<Void> alarm = interrupter().schedule(seconds(0.01), () -> ran.incrementAndGet());
+    alarm.get();
+    assertTrue(ran.get() == 1);
+    assertTrue(!Thread.interrupted());
+  }
+
+  private static void shares_interrupter() {
+    assertTrue(interrupter() == interrupter());
+  }
+
+  private static void stops_worker_when_idle() throws Throwable {
+    interrupter().interruptMe(seconds(0.001)).cancel(true);
+    sleep(0.01);
+    assertTrue(Thread.currentThread().getThreadGroup().activeCount() == 1);
+  }
+
+  private static void fires_many_alarms_on_time() throws Throwable {
+    Thread target = new Thread();
+    int count = 100_000;
+    Random random = new Random(0);
+    List<Scheduled> alarms = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      Duration delay = seconds(0.2 + 0.3 * random.nextDouble());
+      long deadline = System.nanoTime() + delay.toNanos();
+      alarms.add(new Scheduled(deadline, interrupter().interrupt(delay, target)));
+    }
+    for (int i = 0; i < count; i += 2) {
+      assertTrue(alarms.get(i).alarm.cancel(true));
+    }
+    alarms.sort(Comparator.comparingLong(scheduled -> scheduled.deadline));
+
+    int waited = 0;
+    int late = 0;
+    for (Scheduled scheduled : alarms) {
+      if (scheduled.alarm.isCancelled()) {
+        continue;
+      }
+      if (System.nanoTime() < scheduled.deadline - seconds(0.002).toNanos()) {
+        assertTrue(!scheduled.alarm.isDone());
+      }
+      if (!scheduled.alarm.isDone()) {
+        scheduled.alarm.get();
+        waited++;
+        if (System.nanoTime() - scheduled.deadline > seconds(0.05).toNanos()) {
+          late++;
+        }
+      }
+    }
+    long lastDeadline = alarms.get(count - 1).deadline;
+    sleep(Math.max(0, 1e-9 * (lastDeadline - System.nanoTime())) + 0.05);
+
+    for (Scheduled scheduled : alarms) {
+      assertTrue(scheduled.alarm.isDone());
+    }
+    assertTrue(late <= waited / 100);
+  }
+
+  private static class Scheduled {
+    private final long deadline;
+    private final Future<Void> alarm;
+
+    private Scheduled(long deadline, Future<Void> alarm) {
+      this.deadline = deadline;
+      this.alarm = alarm;
+    }
+  }
+}
@@ -0,0 +1,103 @@
+package org.quackery.contract.collection;
+
+import static org.quackery.Contracts.benchmark;
+import static org.quackery.contract.TestingContracts.assertFailure;
+import static org.quackery.contract.TestingContracts.assertSuccess;
+import static org.quackery.testing.Testing.assertEquals;
+import static org.quackery.testing.Testing.assertTrue;
+import static org.quackery.testing.Testing.childrenOf;
+import static org.quackery.testing.Testing.fail;
+import static org.quackery.testing.Testing.nameOf;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+
+import org.quackery.QuackeryException;
+import org.quackery.Test;
+import org.quackery.contract.collection.bug.complexity.ContainsScansSet;
+
+import com.google.common.collect.ImmutableList;
+
+public class TestCollectionBenchmark {
+  public static void test_collection_benchmark() {
+    passes_collection_compared_to_itself();
+    passes_immutable_collection_with_factory();
+    detects_slow_operation();
+    skips_mutators_of_immutable_collection();
+    root_suite_has_descriptive_name();
+    validates_arguments();
+  }
+
+  private static void passes_collection_compared_to_itself() {
+    assertSuccess(benchmark(Collection.class)
+        .test(ArrayList.class));
+  }
+
+  private static void passes_immutable_collection_with_factory() {
+    assertSuccess(benchmark(Collection.class)
+        .immutable()
+        .withFactory("copyOf")
+        .atLeast(0.1)
+        .test(ImmutableList.class));
+  }
+
+  private static void detects_slow_operation() {
+    assertFailure(benchmark(Collection.class)
+        .comparedTo(HashSet.class)
+        .test(ContainsScansSet.class));
+  }
+
+  private static void skips_mutators_of_immutable_collection() {
+    Test test = benchmark(Collection.class)
+        .immutable()
+        .test(ArrayList.class);
+    assertEquals(childrenOf(test).size(), 3);
+  }
+
+  private static void root_suite_has_descriptive_name() {
+    Test test = benchmark(Collection.class)
+        .comparedTo(HashSet.class)
+        .atLeast(0.25)
+        .withFactory("create")
+        .test(Object.class);
+    assertTrue(nameOf(test).contains(Object.class.getName()));
+    assertTrue(nameOf(test).contains(" 0.25 of " + HashSet.class.getName()));
+    assertTrue(nameOf(test).contains(" with factory create"));
+  }
+
+  private static void validates_arguments() {
+    try {
+      benchmark(Collection.class)
+          .comparedTo(null);
+      fail();
+    } catch (QuackeryException e) {}
+    try {
+      benchmark(Collection.class)
+          .atLeast(0);
+      fail();
+    } catch (QuackeryException e) {}
+    try {
+      benchmark(Collection.class)
+          .immutable()
+          .immutable();
+      fail();
+    } catch (QuackeryException e) {}
+    try {
+      benchmark(Collection.class)
+          .withFactory("create")
+          .withFactory("create");
+      fail();
+    } catch (QuackeryException e) {}
+    try {
+      benchmark(Collection.class)
+          .withFactory(null);
+      fail();
+    } catch (QuackeryException e) {}
+    try {
+      benchmark(Collection.class)
+          .test(null);
+      fail();
+    } catch (QuackeryException e) {}
+  }
+}
@@ -5,9 +5,12 @@ import static org.quackery.Contracts.quacksLike;
 import static org.quackery.contract.TestingContracts.assertFailure;
 import static org.quackery.contract.TestingContracts.assertSuccess;
 import static org.quackery.contract.collection.Factories.asFactory;
+import static org.quackery.testing.Testing.assertEquals;
 import static org.quackery.testing.Testing.assertTrue;
+import static org.quackery.testing.Testing.childrenOf;
 import static org.quackery.testing.Testing.fail;
 import static org.quackery.testing.Testing.nameOf;
+import static org.quackery.testing.Testing.runAndCatch;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -20,6 +23,11 @@ import java.util.TreeSet;
 
 import org.quackery.QuackeryException;
 import org.quackery.Test;
+import org.quackery.contract.collection.bug.collection.CreatorAddsElement;
+import org.quackery.contract.collection.bug.complexity.ContainsScansSet;
+import org.quackery.contract.collection.bug.complexity.GetScansList;
+import org.quackery.contract.collection.bug.randomized.AddIgnoresEighthElement;
+import org.quackery.contract.collection.bug.randomized.AddIgnoresEighthElementOnce;
 import org.quackery.contract.collection.correct.ImmutableList;
 import org.quackery.contract.collection.correct.MutableList;
 import org.quackery.contract.collection.correct.MutableListForbiddingNullNicely;
@@ -33,6 +41,13 @@ public class TestCollectionContract {
     passes_example_collections();
     passes_jdk_collections();
     passes_guava_collections();
+    detects_complexity_bugs();
+    passes_jdk_collections_with_complexity();
+    detects_randomized_bugs();
+    reports_minimal_sequence();
+    reports_failure_that_does_not_repeat();
+    configures_randomized_cases();
+    passes_collections_randomized();
     root_suite_has_descriptive_name();
     validates_arguments();
   }
@@ -132,6 +147,139 @@ public class TestCollectionContract {
         .test(ImmutableSet.class));
   }
 
+  private static void detects_complexity_bugs() {
+    assertFailure(quacksLike(Collection.class)
+        .withComplexity()
+        .test(ContainsScansSet.class));
+    assertFailure(quacksLike(Collection.class)
+        .implementing(List.class)
+        .withComplexity()
+        .test(GetScansList.class));
+  }
+
+  private static void passes_jdk_collections_with_complexity() {
+    assertSuccess(quacksLike(Collection.class)
+        .implementing(List.class)
+        .withComplexity()
+        .test(ArrayList.class));
+    assertSuccess(quacksLike(Collection.class)
+        .implementing(List.class)
+        .withComplexity()
+        .test(LinkedList.class));
+    assertSuccess(quacksLike(Collection.class)
+        .withComplexity()
+        .test(HashSet.class));
+    assertSuccess(quacksLike(Collection.class)
+        .immutable()
+        .forbidding(null)
+        .withFactory("copyOf")
+        .withComplexity()
+        .test(ImmutableSet.class));
+  }
+
+  private static void detects_randomized_bugs() {
+    assertSuccess(quacksLike(Collection.class)
+        .implementing(List.class)
+        .test(AddIgnoresEighthElement.class));
+    assertFailure(quacksLike(Collection.class)
+        .implementing(List.class)
+        .randomized(0)
+        .test(AddIgnoresEighthElement.class));
+  }
+
+  private static void reports_minimal_sequence() {
+    Test randomized = childrenOf(quacksLike(Collection.class)
+        .implementing(List.class)
+        .randomized(5)
+        .test(AddIgnoresEighthElement.class))
+        .stream()
+        .filter(child -> nameOf(child).equals("behaves like model"))
+        .findFirst()
+        .get();
+    Test firstCase = childrenOf(randomized).get(0);
+    String message = runAndCatch(firstCase).get().getMessage();
+
+    assertEquals(nameOf(firstCase), "seed 5");
+    assertTrue(message.contains("seed 5 failed at operation 26 of 10000"));
+    assertTrue(message.contains("minimal sequence of 6 operations"));
+    assertTrue(message.contains("    create [1, 7]\n"));
+    assertTrue(message.contains("    add(12) left [1, 7, 6, 14, 3, 12, 8] of size 7"
+        + " but expected [1, 7, 6, 14, 3, 12, 8, 12]"));
+
+    randomized = childrenOf(quacksLike(Collection.class)
+        .implementing(List.class)
+        .randomized(5)
+        .test(CreatorAddsElement.class))
+        .stream()
+        .filter(child -> nameOf(child).equals("behaves like model"))
+        .findFirst()
+        .get();
+    message = runAndCatch(childrenOf(randomized).get(0)).get().getMessage();
+
+    assertTrue(message.contains("seed 5 failed at creation"));
+    assertTrue(message.contains("minimal sequence of 0 operations"));
+    assertTrue(message.contains("    create [] "));
+  }
+
+  private static void reports_failure_that_does_not_repeat() {
+    Test randomized = childrenOf(quacksLike(Collection.class)
+        .implementing(List.class)
+        .randomized(5)
+        .test(AddIgnoresEighthElementOnce.class))
+        .stream()
+        .filter(child -> nameOf(child).equals("behaves like model"))
+        .findFirst()
+        .get();
+    String message = runAndCatch(childrenOf(randomized).get(0)).get().getMessage();
+
+    assertTrue(message.contains("seed 5 failed at operation 26 of 10000"));
+    assertTrue(message.contains("but failure did not repeat when replayed"));
+    assertTrue(message.contains("    add(12) left [1, 6, 14, 15, 12, 11, 8] of size 7"
+        + " but expected [1, 6, 14, 15, 12, 11, 8, 12]"));
+  }
+
+  private static void configures_randomized_cases() {
+    Test randomized = childrenOf(quacksLike(Collection.class)
+        .implementing(List.class)
+        .randomized(5, 3, 100)
+        .test(AddIgnoresEighthElement.class))
+        .stream()
+        .filter(child -> nameOf(child).equals("behaves like model"))
+        .findFirst()
+        .get();
+    List<Test> cases = childrenOf(randomized);
+
+    assertEquals(cases.size(), 3);
+    assertEquals(nameOf(cases.get(2)), "seed 7");
+    String message = runAndCatch(cases.get(0)).get().getMessage();
+    assertTrue(message.contains("seed 5 failed at operation 26 of 100"));
+  }
+
+  private static void passes_collections_randomized() {
+    assertSuccess(quacksLike(Collection.class)
+        .implementing(List.class)
+        .randomized()
+        .test(ArrayList.class));
+    assertSuccess(quacksLike(Collection.class)
+        .implementing(List.class)
+        .randomized()
+        .test(LinkedList.class));
+    assertSuccess(quacksLike(Collection.class)
+        .randomized()
+        .test(HashSet.class));
+    assertSuccess(quacksLike(Collection.class)
+        .forbidding(null)
+        .randomized()
+        .test(TreeSet.class));
+    assertSuccess(quacksLike(Collection.class)
+        .implementing(List.class)
+        .immutable()
+        .forbidding(null)
+        .withFactory("copyOf")
+        .randomized()
+        .test(com.google.common.collect.ImmutableList.class));
+  }
+
   private static void root_suite_has_descriptive_name() {
     class SomeClass {}
     assertNameContains(SomeClass.class.getSimpleName(),
@@ -152,6 +300,14 @@ public class TestCollectionContract {
         quacksLike(Collection.class)
             .withFactory("method_name")
             .test(Object.class));
+    assertNameContains(" with complexity",
+        quacksLike(Collection.class)
+            .withComplexity()
+            .test(Object.class));
+    assertNameContains(" randomized from seed 7",
+        quacksLike(Collection.class)
+            .randomized(7)
+            .test(Object.class));
     assertNameContains(" list",
         quacksLike(Collection.class)
             .implementing(List.class)
@@ -217,6 +373,28 @@ public class TestCollectionContract {
           .withFactory(null);
       fail();
     } catch (QuackeryException e) {}
+    try {
+      quacksLike(Collection.class)
+          .withComplexity()
+          .withComplexity();
+      fail();
+    } catch (QuackeryException e) {}
+    try {
+      quacksLike(Collection.class)
+          .randomized(1)
+          .randomized(1);
+      fail();
+    } catch (QuackeryException e) {}
+    try {
+      quacksLike(Collection.class)
+          .randomized(1, 0, 1);
+      fail();
+    } catch (QuackeryException e) {}
+    try {
+      quacksLike(Collection.class)
+          .randomized(1, 1, 0);
+      fail();
+    } catch (QuackeryException e) {}
     try {
       quacksLike(Collection.class)
           .test(null);
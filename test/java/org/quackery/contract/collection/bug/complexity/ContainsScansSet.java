@@ -0,0 +1,24 @@
+package org.quackery.contract.collection.bug.complexity;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Objects;
+
+public class ContainsScansSet<E> extends HashSet<E> {
+  public ContainsScansSet() {}
+
+  public ContainsScansSet(Collection<E> collection) {
+    super(collection);
+  }
+
+  public boolean contains(Object o) {
+    Iterator<E> iterator = iterator();
+    while (iterator.hasNext()) {
+      if (Objects.equals(iterator.next(), o)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
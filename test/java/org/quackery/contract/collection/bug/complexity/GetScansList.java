@@ -0,0 +1,13 @@
+package org.quackery.contract.collection.bug.complexity;
+
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.RandomAccess;
+
+public class GetScansList<E> extends LinkedList<E> implements RandomAccess {
+  public GetScansList() {}
+
+  public GetScansList(Collection<E> collection) {
+    super(collection);
+  }
+}
@@ -0,0 +1,17 @@
+package org.quackery.contract.collection.bug.randomized;
+
+import java.util.Collection;
+
+import org.quackery.contract.collection.correct.MutableList;
+
+public class AddIgnoresEighthElement<E> extends MutableList<E> {
+  public AddIgnoresEighthElement() {}
+
+  public AddIgnoresEighthElement(Collection<E> collection) {
+    super(collection);
+  }
+
+  public boolean add(E e) {
+    return size() == 7 || super.add(e);
+  }
+}
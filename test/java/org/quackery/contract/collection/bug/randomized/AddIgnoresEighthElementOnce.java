@@ -0,0 +1,20 @@
+package org.quackery.contract.collection.bug.randomized;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.quackery.contract.collection.correct.MutableList;
+
+public class AddIgnoresEighthElementOnce<E> extends MutableList<E> {
+  private static final AtomicBoolean ignored = new AtomicBoolean();
+
+  public AddIgnoresEighthElementOnce() {}
+
+  public AddIgnoresEighthElementOnce(Collection<E> collection) {
+    super(collection);
+  }
+
+  public boolean add(E e) {
+    return size() == 7 && ignored.compareAndSet(false, true) || super.add(e);
+  }
+}
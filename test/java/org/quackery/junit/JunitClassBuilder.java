@@ -147,6 +147,18 @@ class JunitClassBuilder {
     };
   }
 
+  public static Annotation annotationConcurrent(int threads) {
+    return new Concurrent() {
+      public Class<? extends Annotation> annotationType() {
+        return Concurrent.class;
+      }
+
+      public int threads() {
+        return threads;
+      }
+    };
+  }
+
   public static Annotation annotationIgnore(String reason) {
     return new Ignore() {
       public Class<? extends Annotation> annotationType() {
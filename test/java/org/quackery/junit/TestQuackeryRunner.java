@@ -1,11 +1,15 @@
 package org.quackery.junit;
 
+import static java.util.Arrays.asList;
 import static java.lang.reflect.Modifier.PRIVATE;
 import static java.lang.reflect.Modifier.PUBLIC;
 import static java.lang.reflect.Modifier.STATIC;
 import static net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy.Default.NO_CONSTRUCTORS;
+import static org.junit.runner.Description.createTestDescription;
 import static org.quackery.Case.newCase;
+import static org.quackery.Suite.generated;
 import static org.quackery.Suite.suite;
+import static org.quackery.junit.JunitClassBuilder.annotationConcurrent;
 import static org.quackery.junit.JunitClassBuilder.annotationIgnore;
 import static org.quackery.junit.JunitClassBuilder.annotationJunitTest;
 import static org.quackery.junit.JunitClassBuilder.annotationQuackery;
@@ -13,13 +17,28 @@ import static org.quackery.junit.JunitClassBuilder.defaultJunitMethod;
 import static org.quackery.junit.JunitClassBuilder.defaultQuackeryMethod;
 import static org.quackery.junit.TestingJunit.assertResult;
 import static org.quackery.testing.Testing.assertEquals;
+import static org.quackery.testing.Testing.assertTrue;
+import static org.quackery.testing.Testing.fail;
 import static org.quackery.testing.Testing.mockCase;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
+import org.junit.runner.Description;
 import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
 import org.junit.runner.Result;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.manipulation.Sorter;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
 import org.quackery.Case;
 import org.quackery.QuackeryException;
 import org.quackery.Suite;
@@ -32,12 +51,20 @@ public class TestQuackeryRunner {
 
   public static void test_quackery_runner() {
     quackery_cases_are_run_once();
+    quackery_generated_cases_are_run_once();
     quackery_case_results_are_translated();
     quackery_test_names_are_simplified();
     junit_tests_are_included();
     junit_ignore_annotation_is_handled();
     annotated_methods_are_combined_into_one_tree();
     class_definition_is_validated();
+    quackery_cases_run_concurrently_if_annotated();
+    quackery_cases_run_concurrently_if_property_is_set();
+    notifier_is_not_called_concurrently();
+    quackery_methods_are_invoked_lazily();
+    quackery_cases_are_filtered();
+    unselected_quackery_methods_are_not_invoked();
+    quackery_cases_are_sorted();
   }
 
   private static void quackery_cases_are_run_once() {
@@ -52,6 +79,34 @@ public class TestQuackeryRunner {
     assertEquals(invoked.get(), 1);
   }
 
+  private static void quackery_generated_cases_are_run_once() {
+    AtomicInteger invoked = new AtomicInteger();
+    new JUnitCore()
+        .run(new JunitClassBuilder()
+            .define(defaultQuackeryMethod()
+                .returning(generated("suite", () -> Stream.of(
+                    newCase("caseA", () -> {
+                      invoked.incrementAndGet();
+                    }),
+                    newCase("caseB", () -> {
+                      invoked.incrementAndGet();
+                    })))))
+            .load());
+    assertEquals(invoked.get(), 2);
+
+    assertResult(
+        defaultQuackeryMethod()
+            .returning(generated("suite", () -> Stream.of(
+                mockCase("caseA"),
+                mockCase("caseB", new Throwable()),
+                generated("", () -> Stream.of(mockCase("caseC\ncaseC")))))),
+        suite("suite")
+            .add(mockCase("caseA"))
+            .add(mockCase("caseB", new Throwable()))
+            .add(suite("[empty_name]")
+                .add(mockCase("caseC caseC"))));
+  }
+
   private static void quackery_case_results_are_translated() {
     assertResult(
         defaultQuackeryMethod()
@@ -222,6 +277,220 @@ public class TestQuackeryRunner {
             .add(mockCase("quackery_method", new IOException())));
   }
 
+  private static void quackery_cases_run_concurrently_if_annotated() {
+    CountDownLatch latch = new CountDownLatch(2);
+    Result result = new JUnitCore()
+        .run(new JunitClassBuilder()
+            .annotate(annotationConcurrent(2))
+            .define(defaultQuackeryMethod()
+                .returning(suite("suite")
+                    .add(awaitingCase("caseA", latch))
+                    .add(awaitingCase("caseB", latch))))
+            .load());
+    assertEquals(result.getRunCount(), 2);
+    assertEquals(result.getFailureCount(), 0);
+  }
+
+  private static void quackery_cases_run_concurrently_if_property_is_set() {
+    CountDownLatch latch = new CountDownLatch(2);
+    Class<?> annotatedClass = new JunitClassBuilder()
+        .define(defaultQuackeryMethod()
+            .returning(suite("suite")
+                .add(awaitingCase("caseA", latch))
+                .add(awaitingCase("caseB", latch))))
+        .load();
+    System.setProperty("quackery.threads", "2");
+    Result result;
+    try {
+      result = new JUnitCore().run(annotatedClass);
+    } finally {
+      System.clearProperty("quackery.threads");
+    }
+    assertEquals(result.getRunCount(), 2);
+    assertEquals(result.getFailureCount(), 0);
+  }
+
+  private static Test awaitingCase(String name, CountDownLatch latch) {
+    return newCase(name, () -> {
+      latch.countDown();
+      if (!latch.await(1, TimeUnit.SECONDS)) {
+        throw new AssertException("cases did not run concurrently");
+      }
+    });
+  }
+
+  private static void notifier_is_not_called_concurrently() {
+    AtomicInteger inside = new AtomicInteger();
+    AtomicInteger overlapping = new AtomicInteger();
+    List<String> events = new ArrayList<>();
+    List<Test> cases = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      cases.add(i % 2 == 0
+          ? mockCase("case" + i)
+          : mockCase("case" + i, new AssertException()));
+    }
+    JUnitCore core = new JUnitCore();
+    core.addListener(new RunListener() {
+      public void testStarted(Description description) {
+        record("started " + description.getMethodName());
+      }
+
+      public void testFailure(Failure failure) {
+        record("failed " + failure.getDescription().getMethodName());
+      }
+
+      public void testFinished(Description description) {
+        record("finished " + description.getMethodName());
+      }
+
+      private void record(String event) {
+        if (inside.incrementAndGet() > 1) {
+          overlapping.incrementAndGet();
+        }
+        events.add(event);
+        Thread.yield();
+        inside.decrementAndGet();
+      }
+    });
+
+    core.run(new JunitClassBuilder()
+        .annotate(annotationConcurrent(4))
+        .define(defaultQuackeryMethod()
+            .returning(suite("suite").addAll(cases)))
+        .load());
+
+    assertEquals(overlapping.get(), 0);
+    for (int i = 0; i < 20; i++) {
+      int started = events.indexOf("started case" + i);
+      int finished = events.indexOf("finished case" + i);
+      assertTrue(0 <= started && started < finished);
+      if (i % 2 == 1) {
+        assertEquals(events.get(finished - 1), "failed case" + i);
+      }
+    }
+  }
+
+  private static void quackery_methods_are_invoked_lazily() {
+    AtomicInteger generated = new AtomicInteger();
+    QuackeryRunner runner = new QuackeryRunner(new JunitClassBuilder()
+        .define(defaultQuackeryMethod()
+            .returning(generated("suite", () -> {
+              generated.incrementAndGet();
+              return Stream.of(mockCase("case"));
+            })))
+        .load());
+    assertEquals(generated.get(), 0);
+
+    runner.getDescription();
+    assertTrue(generated.get() > 0);
+  }
+
+  private static void quackery_cases_are_filtered() {
+    AtomicInteger invokedA = new AtomicInteger();
+    AtomicInteger invokedB = new AtomicInteger();
+    QuackeryRunner runner = new QuackeryRunner(new JunitClassBuilder()
+        .define(defaultQuackeryMethod()
+            .returning(suite("suite")
+                .add(suite("suiteA")
+                    .add(newCase("caseA", () -> {
+                      invokedA.incrementAndGet();
+                    })))
+                .add(suite("suiteB")
+                    .add(newCase("caseB", () -> {
+                      invokedB.incrementAndGet();
+                    })))))
+        .define(defaultJunitMethod())
+        .load());
+    Description caseB = runner.getDescription()
+        .getChildren().get(1)
+        .getChildren().get(1)
+        .getChildren().get(0);
+
+    Result result = new JUnitCore().run(Request.runner(runner).filterWith(caseB));
+
+    assertEquals(result.getRunCount(), 1);
+    assertEquals(invokedA.get(), 0);
+    assertEquals(invokedB.get(), 1);
+    Description suite = runner.getDescription().getChildren().get(0);
+    assertEquals(runner.getDescription().getChildren().size(), 1);
+    assertEquals(suite.getChildren().size(), 1);
+    assertEquals(suite.getChildren().get(0).getDisplayName(), "suiteB");
+
+    try {
+      runner.filter(new Filter() {
+        public boolean shouldRun(Description description) {
+          return false;
+        }
+
+        public String describe() {
+          return "nothing";
+        }
+      });
+      fail();
+    } catch (NoTestsRemainException e) {}
+  }
+
+  private static void unselected_quackery_methods_are_not_invoked() {
+    AtomicInteger generatedA = new AtomicInteger();
+    AtomicInteger generatedB = new AtomicInteger();
+    Class<?> annotatedClass = new JunitClassBuilder()
+        .name(className)
+        .define(defaultQuackeryMethod()
+            .name("quackeryA")
+            .returning(generated("suiteA", () -> {
+              generatedA.incrementAndGet();
+              return Stream.of(mockCase("caseA"));
+            })))
+        .define(defaultQuackeryMethod()
+            .name("quackeryB")
+            .returning(generated("suiteB", () -> {
+              generatedB.incrementAndGet();
+              return Stream.of(mockCase("caseB"));
+            })))
+        .load();
+    QuackeryRunner runner = new QuackeryRunner(annotatedClass);
+
+    runner.sort(new Sorter(Comparator.comparing(Description::getDisplayName)));
+    try {
+      runner.filter(Filter.matchMethodDescription(createTestDescription(className, "quackeryA")));
+    } catch (NoTestsRemainException e) {
+      fail();
+    }
+    assertEquals(generatedA.get(), 0);
+    assertEquals(generatedB.get(), 0);
+
+    Result result = new JUnitCore().run(Request.runner(runner));
+
+    assertEquals(result.getRunCount(), 1);
+    assertTrue(generatedA.get() > 0);
+    assertEquals(generatedB.get(), 0);
+    List<Description> children = runner.getDescription().getChildren();
+    assertEquals(children.size(), 1);
+    assertEquals(children.get(0).getDisplayName(), "suiteA");
+  }
+
+  private static void quackery_cases_are_sorted() {
+    List<String> started = new ArrayList<>();
+    JUnitCore core = new JUnitCore();
+    core.addListener(new RunListener() {
+      public void testStarted(Description description) {
+        started.add(description.getMethodName());
+      }
+    });
+    Class<?> annotatedClass = new JunitClassBuilder()
+        .define(defaultQuackeryMethod()
+            .returning(suite("suite")
+                .add(mockCase("caseA"))
+                .add(suite("suite")
+                    .add(mockCase("caseB"))
+                    .add(mockCase("caseC")))))
+        .load();
+
+    core.run(Request.aClass(annotatedClass).sortWith(Comparator.comparing(Description::getDisplayName).reversed()));
+
+    assertEquals(started, asList("caseC", "caseB", "caseA"));
+  }
+
   private static void class_definition_is_validated() {
     assertResult(
         defaultQuackeryMethod()
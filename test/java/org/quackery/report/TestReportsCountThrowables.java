@@ -1,11 +1,14 @@
 package org.quackery.report;
 
+import static org.quackery.Suite.generated;
 import static org.quackery.Suite.suite;
 import static org.quackery.report.Reports.count;
 import static org.quackery.testing.Testing.assertEquals;
 import static org.quackery.testing.Testing.fail;
 import static org.quackery.testing.Testing.mockCase;
 
+import java.util.stream.IntStream;
+
 import org.quackery.QuackeryException;
 import org.quackery.Test;
 
@@ -16,6 +19,8 @@ public class TestReportsCountThrowables {
     counts_subtyped_exception();
     does_not_count_supertyped_exception();
     sums_all_throwables_in_hierarchy();
+    counts_generated_cases();
+    counts_cases_of_deep_hierarchy();
     validates_arguments();
   }
 
@@ -72,6 +77,29 @@ public class TestReportsCountThrowables {
     assertEquals(count, 4);
   }
 
+  private static void counts_generated_cases() {
+    Test test = suite("name")
+        .add(generated("name", () -> IntStream.range(0, 1000)
+            .mapToObj(i -> i % 10 == 0
+                ? mockCase("name", new RuntimeException())
+                : mockCase("name"))));
+
+    int count = count(Throwable.class, test);
+
+    assertEquals(count, 100);
+  }
+
+  private static void counts_cases_of_deep_hierarchy() {
+    Test test = mockCase("name", new RuntimeException());
+    for (int i = 0; i < 100_000; i++) {
+      test = suite("name").add(test);
+    }
+
+    int count = count(Throwable.class, test);
+
+    assertEquals(count, 1);
+  }
+
   private static void validates_arguments() {
     Test test = mockCase("name");
     try {
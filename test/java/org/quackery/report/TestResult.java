@@ -0,0 +1,92 @@
+package org.quackery.report;
+
+import static org.quackery.report.Result.failure;
+import static org.quackery.report.Result.success;
+import static org.quackery.testing.Testing.assertEquals;
+import static org.quackery.testing.Testing.assertTrue;
+import static org.quackery.testing.Testing.fail;
+import static org.quackery.testing.Testing.seconds;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.quackery.QuackeryException;
+
+public class TestResult {
+  public static void test_result() throws Throwable {
+    success_runs_without_throwing();
+    failure_rethrows_throwable();
+    failure_rethrows_same_throwable_each_time();
+    holds_duration_and_thread_name();
+    validates_arguments();
+  }
+
+  private static void success_runs_without_throwing() throws Throwable {
+    Result result = success(seconds(1), "thread");
+
+    result.run();
+
+    assertTrue(result.isSuccessful());
+    assertEquals(result.getThrown(), Optional.empty());
+  }
+
+  private static void failure_rethrows_throwable() {
+    Throwable throwable = new Throwable();
+    Result result = failure(throwable, seconds(1), "thread");
+
+    try {
+      result.run();
+      fail();
+    } catch (Throwable t) {
+      assertEquals(t, throwable);
+    }
+    assertTrue(!result.isSuccessful());
+    assertEquals(result.getThrown(), Optional.of(throwable));
+  }
+
+  private static void failure_rethrows_same_throwable_each_time() {
+    Throwable throwable = new Throwable();
+    Result result = failure(throwable, seconds(1), "thread");
+
+    for (int i = 0; i < 3; i++) {
+      try {
+        result.run();
+        fail();
+      } catch (Throwable t) {
+        assertEquals(t, throwable);
+      }
+    }
+  }
+
+  private static void holds_duration_and_thread_name() {
+    Duration duration = seconds(1.5);
+
+    Result result = failure(new Throwable(), duration, "thread");
+
+    assertEquals(result.getDuration(), duration);
+    assertEquals(result.getThreadName(), "thread");
+  }
+
+  private static void validates_arguments() {
+    try {
+      success(null, "thread");
+      fail();
+    } catch (QuackeryException e) {}
+    try {
+      success(seconds(1), null);
+      fail();
+    } catch (QuackeryException e) {}
+    try {
+      failure(null, seconds(1), "thread");
+      fail();
+    } catch (QuackeryException e) {}
+    try {
+      failure(new Throwable(), null, "thread");
+      fail();
+    } catch (QuackeryException e) {}
+    try {
+      failure(new Throwable(), seconds(1), null);
+      fail();
+    } catch (QuackeryException e) {}
+  }
+}
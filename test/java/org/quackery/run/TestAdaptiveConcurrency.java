@@ -0,0 +1,157 @@
+package org.quackery.run;
+
+import static java.util.Arrays.asList;
+import static org.quackery.Case.newCase;
+import static org.quackery.Suite.suite;
+import static org.quackery.report.Reports.count;
+import static org.quackery.run.AdaptiveConcurrency.adaptiveConcurrency;
+import static org.quackery.run.Runners.run;
+import static org.quackery.run.TestingDecorators.decorator_preserves_case_result;
+import static org.quackery.run.TestingDecorators.decorator_preserves_names_and_structure;
+import static org.quackery.run.TestingDecorators.decorator_runs_cases_eagerly;
+import static org.quackery.run.TestingDecorators.decorator_validates_arguments;
+import static org.quackery.testing.Testing.assertEquals;
+import static org.quackery.testing.Testing.assertTrue;
+import static org.quackery.testing.Testing.fail;
+import static org.quackery.testing.Testing.sleep;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.quackery.Body;
+import org.quackery.QuackeryException;
+import org.quackery.Test;
+
+public class TestAdaptiveConcurrency {
+  public static void test_adaptive_concurrency() throws Throwable {
+    AdaptiveConcurrency adaptive = adaptiveConcurrency();
+    Function<Test, Test> decorator = test -> run(adaptive.concurrent(test));
+
+    decorator_preserves_names_and_structure(decorator);
+    decorator_preserves_case_result(decorator);
+    decorator_validates_arguments(decorator);
+    decorator_runs_cases_eagerly(decorator);
+
+    runs_cases_concurrently();
+    lowers_concurrency_under_pressure();
+    raises_concurrency_when_pressure_eases();
+    ignores_young_collections();
+    considers_only_tenured_pools();
+    records_concurrency_history();
+    validates_arguments();
+  }
+
+  private static void runs_cases_concurrently() {
+    AdaptiveConcurrency adaptive = adaptiveConcurrency(4);
+    Test report = run(adaptive.concurrent(cases(20, () -> sleep(0.01))));
+
+    assertEquals(count(Throwable.class, report), 0);
+    assertEquals(adaptive.getPeakInFlight(), 4);
+  }
+
+  private static void lowers_concurrency_under_pressure() {
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    AdaptiveConcurrency adaptive = adaptiveConcurrency(4);
+    adaptive.adjust(0.9);
+    adaptive.adjust(0.9);
+
+    run(adaptive.concurrent(cases(20, () -> {
+      maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+      sleep(0.001);
+      running.decrementAndGet();
+    })));
+
+    assertEquals(adaptive.getConcurrency(), 1);
+    assertEquals(maxRunning.get(), 1);
+  }
+
+  private static void raises_concurrency_when_pressure_eases() {
+    AdaptiveConcurrency adaptive = adaptiveConcurrency(4);
+    adaptive.adjust(0.9);
+    adaptive.adjust(0.9);
+    adaptive.adjust(0.6);
+    assertEquals(adaptive.getConcurrency(), 1);
+
+    adaptive.adjust(0.1);
+    adaptive.adjust(0.1);
+    assertEquals(adaptive.getConcurrency(), 3);
+
+    adaptive.adjust(0.1);
+    adaptive.adjust(0.1);
+    assertEquals(adaptive.getConcurrency(), 4);
+  }
+
+  private static void ignores_young_collections() {
+    long collections = collections();
+    AdaptiveConcurrency adaptive = adaptiveConcurrency(4);
+
+    Object[] survivors = new Object[32 * 1024];
+    AtomicInteger next = new AtomicInteger();
+    run(adaptive.concurrent(cases(20, () -> {
+      for (int i = 0; i < 20_000; i++) {
+        survivors[next.getAndIncrement() % survivors.length] = new byte[1024];
+      }
+    })));
+
+    assertTrue(collections() > collections);
+    assertEquals(adaptive.getConcurrency(), 4);
+    assertEquals(adaptive.getConcurrencyHistory().size(), 1);
+  }
+
+  private static long collections() {
+    long collections = 0;
+    for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+      collections += collector.getCollectionCount();
+    }
+    return collections;
+  }
+
+  private static void considers_only_tenured_pools() {
+    int tenured = 0;
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      String name = pool.getName().toLowerCase();
+      if (name.contains("eden") || name.contains("survivor")) {
+        assertTrue(!AdaptiveConcurrency.isTenured(pool));
+      }
+      if (AdaptiveConcurrency.isTenured(pool)) {
+        tenured++;
+      }
+    }
+    assertTrue(tenured > 0);
+  }
+
+  private static void records_concurrency_history() {
+    AdaptiveConcurrency adaptive = adaptiveConcurrency(4);
+    adaptive.adjust(0.9);
+    adaptive.adjust(0.1);
+
+    SortedMap<Duration, Integer> history = adaptive.getConcurrencyHistory();
+
+    assertEquals(new ArrayList<>(history.values()), asList(4, 2, 3));
+    assertEquals(history.firstKey(), Duration.ZERO);
+    assertTrue(adaptive.toString().startsWith("concurrency 4 at 0ms, 2 at "));
+  }
+
+  private static Test cases(int count, Body body) {
+    List<Test> cases = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      cases.add(newCase("case" + i, body));
+    }
+    return suite("suite").addAll(cases);
+  }
+
+  private static void validates_arguments() {
+    try {
+      adaptiveConcurrency(0);
+      fail();
+    } catch (QuackeryException e) {}
+  }
+}
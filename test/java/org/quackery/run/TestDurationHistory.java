@@ -0,0 +1,165 @@
+package org.quackery.run;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static org.quackery.Case.newCase;
+import static org.quackery.Suite.suite;
+import static org.quackery.run.DurationHistory.durationHistory;
+import static org.quackery.run.Runners.in;
+import static org.quackery.run.Runners.run;
+import static org.quackery.run.TestingDecorators.decorator_preserves_case_result;
+import static org.quackery.run.TestingDecorators.decorator_preserves_names_and_structure;
+import static org.quackery.run.TestingDecorators.decorator_runs_cases_eagerly;
+import static org.quackery.run.TestingDecorators.decorator_validates_arguments;
+import static org.quackery.testing.Testing.assertEquals;
+import static org.quackery.testing.Testing.assertTrue;
+import static org.quackery.testing.Testing.fail;
+import static org.quackery.testing.Testing.mockCase;
+import static org.quackery.testing.Testing.sleepBusy;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import org.quackery.QuackeryException;
+import org.quackery.Test;
+
+public class TestDurationHistory {
+  public static void test_duration_history() throws Throwable {
+    Function<Test, Test> decorator = test -> run(in(Runnable::run, history(), test));
+
+    decorator_preserves_names_and_structure(decorator);
+    decorator_preserves_case_result(decorator);
+    decorator_validates_arguments(decorator);
+    decorator_runs_cases_eagerly(decorator);
+
+    records_durations_of_cases();
+    submits_longest_cases_first();
+    submits_unknown_cases_first();
+    keeps_history_in_file();
+    ignores_malformed_lines();
+    distinguishes_names_containing_separator();
+    validates_arguments();
+  }
+
+  private static void records_durations_of_cases() {
+    DurationHistory history = history();
+    run(in(Runnable::run, history, suite("suite")
+        .add(newCase("case", () -> sleepBusy(0.02)))));
+
+    assertTrue(history.durationOf(asList("suite", "case")).get().toMillis() >= 20);
+    assertEquals(history.durationOf(asList("suite", "other")), Optional.empty());
+  }
+
+  private static void submits_longest_cases_first() {
+    DurationHistory history = history();
+    run(in(Runnable::run, history, durations(0.01, 0.03, 0.02)));
+
+    List<String> order = new ArrayList<>();
+    run(in(Runnable::run, history, recording(order)));
+
+    assertEquals(order, asList("case1", "case2", "case0"));
+  }
+
+  private static void submits_unknown_cases_first() {
+    DurationHistory history = history();
+    run(in(Runnable::run, history, suite("suite")
+        .add(mockCase("case0"))
+        .add(mockCase("case1"))));
+
+    List<String> order = new ArrayList<>();
+    run(in(Runnable::run, history, recording(order)));
+
+    assertEquals(order, asList("case2", "case0", "case1"));
+  }
+
+  private static void keeps_history_in_file() throws Throwable {
+    Path file = Files.createTempFile("history", ".txt");
+    try {
+      DurationHistory history = durationHistory(file);
+      run(in(Runnable::run, history, durations(0.01, 0.03, 0.02)));
+      history.save();
+
+      DurationHistory loaded = durationHistory(file);
+      List<String> order = new ArrayList<>();
+      run(in(Runnable::run, loaded, recording(order)));
+
+      assertEquals(loaded.size(), 3);
+      assertEquals(order, asList("case1", "case2", "case0"));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  private static void ignores_malformed_lines() throws Throwable {
+    Path file = Files.createTempFile("history", ".txt");
+    try {
+      Files.write(file, asList("", "garbage", "12x suite/case", "7 suite/case"), UTF_8);
+
+      DurationHistory history = durationHistory(file);
+
+      assertEquals(history.size(), 1);
+      assertEquals(history.durationOf(asList("suite", "case")).get().toNanos(), 7L);
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  private static void distinguishes_names_containing_separator() {
+    DurationHistory history = history();
+    run(in(Runnable::run, history, suite("a/b").add(mockCase("c"))));
+
+    assertTrue(history.durationOf(asList("a/b", "c")).isPresent());
+    assertTrue(!history.durationOf(asList("a", "b/c")).isPresent());
+    assertTrue(!history.durationOf(asList("a", "b", "c")).isPresent());
+  }
+
+  private static void validates_arguments() {
+    Executor executor = Runnable::run;
+    Test test = mockCase("case");
+    try {
+      in(null, history(), test);
+      fail();
+    } catch (QuackeryException e) {}
+    try {
+      in(executor, (DurationHistory) null, test);
+      fail();
+    } catch (QuackeryException e) {}
+    try {
+      durationHistory(null);
+      fail();
+    } catch (QuackeryException e) {}
+  }
+
+  private static Test durations(double... seconds) {
+    List<Test> cases = new ArrayList<>();
+    for (int i = 0; i < seconds.length; i++) {
+      double duration = seconds[i];
+      cases.add(newCase("case" + i, () -> sleepBusy(duration)));
+    }
+    return suite("suite").addAll(cases);
+  }
+
+  private static Test recording(List<String> order) {
+    List<Test> cases = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      String name = "case" + i;
+      cases.add(newCase(name, () -> order.add(name)));
+    }
+    return suite("suite").addAll(cases);
+  }
+
+  private static DurationHistory history() {
+    try {
+      Path directory = Files.createTempDirectory("history");
+      directory.toFile().deleteOnExit();
+      return durationHistory(directory.resolve("history.txt"));
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
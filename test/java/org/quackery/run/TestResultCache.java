@@ -0,0 +1,193 @@
+package org.quackery.run;
+
+import static org.quackery.Case.newCase;
+import static org.quackery.Suite.suite;
+import static org.quackery.report.Reports.count;
+import static org.quackery.run.ResultCache.resultCache;
+import static org.quackery.run.Runners.run;
+import static org.quackery.run.TestingDecorators.decorator_preserves_case_result;
+import static org.quackery.run.TestingDecorators.decorator_preserves_names_and_structure;
+import static org.quackery.run.TestingDecorators.decorator_runs_cases_lazily;
+import static org.quackery.run.TestingDecorators.decorator_validates_arguments;
+import static org.quackery.testing.Testing.assertEquals;
+import static org.quackery.testing.Testing.assertTrue;
+import static org.quackery.testing.Testing.fail;
+import static org.quackery.testing.Testing.mockCase;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.quackery.Contract;
+import org.quackery.QuackeryException;
+import org.quackery.Test;
+import org.quackery.contract.collection.CollectionContract;
+import org.quackery.contract.collection.correct.MutableList;
+
+public class TestResultCache {
+  public static void test_result_cache() throws Throwable {
+    Function<Test, Test> decorator = test -> resultCache(directory()).cached("key", test);
+
+    decorator_preserves_names_and_structure(decorator);
+    decorator_preserves_case_result(decorator);
+    decorator_validates_arguments(decorator);
+    decorator_runs_cases_lazily(decorator);
+
+    serves_successful_cases_from_cache();
+    runs_failed_cases_again();
+    separates_keys();
+    separates_paths();
+    runs_cases_with_duplicated_names();
+    counts_hits_and_misses_when_cases_run();
+    caches_contract_results();
+    separates_contract_configurations();
+    validates_arguments();
+  }
+
+  private static void serves_successful_cases_from_cache() {
+    Path directory = directory();
+    AtomicInteger invoked = new AtomicInteger();
+    Test test = suite("suite")
+        .add(newCase("caseA", () -> invoked.incrementAndGet()))
+        .add(newCase("caseB", () -> invoked.incrementAndGet()));
+    ResultCache first = resultCache(directory);
+    run(first.cached("key", test));
+
+    ResultCache second = resultCache(directory);
+    Test report = run(second.cached("key", test));
+
+    assertEquals(invoked.get(), 2);
+    assertEquals(count(Throwable.class, report), 0);
+    assertEquals(first.getHits(), 0);
+    assertEquals(first.getMisses(), 2);
+    assertEquals(second.getHits(), 2);
+    assertEquals(second.getMisses(), 0);
+  }
+
+  private static void runs_failed_cases_again() {
+    Path directory = directory();
+    AtomicInteger invoked = new AtomicInteger();
+    Test test = newCase("case", () -> {
+      invoked.incrementAndGet();
+      throw new Throwable();
+    });
+    run(resultCache(directory).cached("key", test));
+
+    ResultCache cache = resultCache(directory);
+    Test report = run(cache.cached("key", test));
+
+    assertEquals(invoked.get(), 2);
+    assertEquals(count(Throwable.class, report), 1);
+    assertEquals(cache.getMisses(), 1);
+  }
+
+  private static void separates_keys() {
+    Path directory = directory();
+    run(resultCache(directory).cached("keyA", mockCase("case")));
+
+    ResultCache cache = resultCache(directory);
+    run(cache.cached("keyB", mockCase("case")));
+
+    assertEquals(cache.getHits(), 0);
+  }
+
+  private static void separates_paths() {
+    Path directory = directory();
+    run(resultCache(directory).cached("key", suite("suiteA").add(mockCase("case"))));
+
+    ResultCache cache = resultCache(directory);
+    run(cache.cached("key", suite("suiteB").add(mockCase("case"))));
+
+    assertEquals(cache.getHits(), 0);
+  }
+
+  private static void runs_cases_with_duplicated_names() {
+    Path directory = directory();
+    Test test = suite("suite")
+        .add(mockCase("case"))
+        .add(mockCase("case", new Throwable()))
+        .add(suite("inner")
+            .add(mockCase("caseA")))
+        .add(suite("inner")
+            .add(mockCase("caseA", new Throwable())));
+    run(resultCache(directory).cached("key", test));
+
+    ResultCache cache = resultCache(directory);
+    Test report = run(cache.cached("key", test));
+
+    assertEquals(count(Throwable.class, report), 2);
+    assertEquals(cache.getHits(), 0);
+    assertEquals(cache.getMisses(), 4);
+  }
+
+  private static void counts_hits_and_misses_when_cases_run() {
+    ResultCache cache = resultCache(directory());
+    Test test = cache.cached("key", suite("suite")
+        .add(mockCase("caseA"))
+        .add(mockCase("caseB")));
+
+    assertEquals(cache.getMisses(), 0);
+    run(test);
+    assertEquals(cache.getMisses(), 2);
+    run(test);
+    assertEquals(cache.getHits(), 2);
+    assertEquals(cache.getMisses(), 2);
+  }
+
+  private static void caches_contract_results() {
+    Path directory = directory();
+    Contract<Class<?>> contract = new CollectionContract().implementing(List.class);
+    ResultCache first = resultCache(directory);
+    run(first.cached(contract).test(MutableList.class));
+
+    ResultCache second = resultCache(directory);
+    Test report = run(second.cached(contract).test(MutableList.class));
+
+    assertTrue(first.getMisses() > 0);
+    assertEquals(second.getHits(), first.getMisses());
+    assertEquals(second.getMisses(), 0);
+    assertEquals(count(Throwable.class, report), 0);
+  }
+
+  private static void separates_contract_configurations() {
+    Path directory = directory();
+    run(resultCache(directory).cached(new CollectionContract()).test(MutableList.class));
+
+    ResultCache cache = resultCache(directory);
+    run(cache.cached(new CollectionContract().implementing(List.class)).test(MutableList.class));
+
+    assertEquals(cache.getHits(), 0);
+  }
+
+  private static void validates_arguments() {
+    ResultCache cache = resultCache(directory());
+    try {
+      cache.cached(null, mockCase("case"));
+      fail();
+    } catch (QuackeryException e) {}
+    try {
+      cache.cached((Contract<Class<?>>) null);
+      fail();
+    } catch (QuackeryException e) {}
+    try {
+      resultCache(null);
+      fail();
+    } catch (QuackeryException e) {}
+  }
+
+  private static Path directory() {
+    try {
+      Path directory = Files.createTempDirectory("cache");
+      File results = directory.resolve("results").toFile();
+      directory.toFile().deleteOnExit();
+      results.deleteOnExit();
+      return directory;
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
@@ -0,0 +1,116 @@
+package org.quackery.run;
+
+import static org.quackery.Case.newCase;
+import static org.quackery.Suite.suite;
+import static org.quackery.run.RunContext.runContext;
+import static org.quackery.run.Runners.run;
+import static org.quackery.run.TestingDecorators.decorator_preserves_case_result;
+import static org.quackery.run.TestingDecorators.decorator_preserves_names_and_structure;
+import static org.quackery.run.TestingDecorators.decorator_runs_cases_eagerly;
+import static org.quackery.run.TestingDecorators.decorator_validates_arguments;
+import static org.quackery.testing.Testing.assertEquals;
+import static org.quackery.testing.Testing.assertTrue;
+import static org.quackery.testing.Testing.fail;
+import static org.quackery.testing.Testing.mockCase;
+import static org.quackery.testing.Testing.sleep;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.quackery.Body;
+import org.quackery.QuackeryException;
+import org.quackery.Test;
+
+public class TestRunContext {
+  public static void test_run_context() throws Throwable {
+    try (RunContext context = runContext()) {
+      Function<Test, Test> decorator = test -> run(context.concurrent(test));
+
+      decorator_preserves_names_and_structure(decorator);
+      decorator_preserves_case_result(decorator);
+      decorator_validates_arguments(decorator);
+      decorator_runs_cases_eagerly(decorator);
+    }
+
+    reuses_threads_between_runs();
+    limits_cases_in_flight();
+    counts_completed_cases();
+    closes_pool();
+    validates_arguments();
+  }
+
+  private static void reuses_threads_between_runs() {
+    try (RunContext context = runContext(2, 8)) {
+      for (int i = 0; i < 10; i++) {
+        run(context.concurrent(cases(20, () -> {})));
+      }
+
+      assertTrue(context.getThreadsCreated() <= 2);
+    }
+  }
+
+  private static void limits_cases_in_flight() throws InterruptedException {
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    try (RunContext context = runContext(4, 2)) {
+      Test test = cases(20, () -> {
+        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        maxInFlight.accumulateAndGet(context.getInFlight(), Math::max);
+        sleep(0.001);
+        running.decrementAndGet();
+      });
+
+      run(context.concurrent(test));
+
+      assertTrue(maxRunning.get() <= 2);
+      assertTrue(maxInFlight.get() <= 2);
+      assertEquals(context.getQueueDepth(), 0);
+    }
+  }
+
+  private static void counts_completed_cases() throws InterruptedException {
+    try (RunContext context = runContext(2, 8)) {
+      run(context.concurrent(cases(10, () -> {})));
+      sleep(0.01);
+
+      assertEquals(context.getCompletedCount(), 10L);
+      assertEquals(context.getInFlight(), 0);
+    }
+  }
+
+  private static void closes_pool() {
+    RunContext context = runContext(2, 8);
+    run(context.concurrent(cases(10, () -> {})));
+
+    context.close();
+
+    assertTrue(context.isClosed());
+    assertEquals(context.getPoolSize(), 0);
+    try {
+      context.concurrent(mockCase("case"));
+      fail();
+    } catch (QuackeryException e) {}
+  }
+
+  private static Test cases(int count, Body body) {
+    List<Test> cases = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      cases.add(newCase("case" + i, body));
+    }
+    return suite("suite").addAll(cases);
+  }
+
+  private static void validates_arguments() {
+    try {
+      runContext(0, 1);
+      fail();
+    } catch (QuackeryException e) {}
+    try {
+      runContext(1, 0);
+      fail();
+    } catch (QuackeryException e) {}
+  }
+}
@@ -1,7 +1,14 @@
 package org.quackery.run;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.synchronizedList;
 import static org.quackery.Case.newCase;
+import static org.quackery.Suite.generated;
+import static org.quackery.Suite.suite;
+import static org.quackery.help.Helpers.thrownBy;
+import static org.quackery.help.Helpers.walk;
 import static org.quackery.run.Runners.classLoaderScoped;
+import static org.quackery.run.Runners.suiteClassLoaderScoped;
 import static org.quackery.run.TestingDecorators.decorator_preserves_case_result;
 import static org.quackery.run.TestingDecorators.decorator_preserves_names_and_structure;
 import static org.quackery.run.TestingDecorators.decorator_runs_cases_lazily;
@@ -10,9 +17,16 @@ import static org.quackery.testing.Testing.assertEquals;
 import static org.quackery.testing.Testing.assertNotEquals;
 import static org.quackery.testing.Testing.mockCase;
 import static org.quackery.testing.Testing.runAndThrow;
+import static org.quackery.testing.Testing.sleep;
+import static org.quackery.testing.Testing.sleepBusy;
 
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 import org.quackery.Test;
 
@@ -37,6 +51,215 @@ public class TestRunnersClassLoaderScoped {
     thread.setContextClassLoader(original);
     restores_context_class_loader_if_failed();
     thread.setContextClassLoader(original);
+
+    Function<Test, Test> suiteDecorator = test -> suiteClassLoaderScoped(test);
+    decorator_preserves_names_and_structure(suiteDecorator);
+    decorator_preserves_case_result(suiteDecorator);
+    decorator_validates_arguments(suiteDecorator);
+    decorator_runs_cases_lazily(suiteDecorator);
+
+    Function<Test, Test> groupDecorator = test -> classLoaderScoped("group", test);
+    decorator_preserves_names_and_structure(groupDecorator);
+    decorator_preserves_case_result(groupDecorator);
+    decorator_validates_arguments(groupDecorator);
+    decorator_runs_cases_lazily(groupDecorator);
+
+    suite_scope_is_shared_by_cases_of_suite();
+    suite_scope_is_shared_by_subsuites();
+    group_scope_is_shared_between_tests();
+    group_scope_is_released_after_all_cases_run();
+    group_scope_counts_cases_of_generated_suites();
+    group_scope_is_forgotten_if_cases_never_run();
+    scope_does_not_generate_suites_when_scoping();
+    scope_is_armed_again_for_rerun();
+    group_scope_is_not_split_by_concurrent_scoping();
+    assertEquals(thread.getContextClassLoader(), original);
+  }
+
+  private static void suite_scope_is_shared_by_cases_of_suite() throws Throwable {
+    ClassLoader original = Thread.currentThread().getContextClassLoader();
+    List<ClassLoader> scopes = new ArrayList<>();
+    Test test = suiteClassLoaderScoped(suite("suite")
+        .add(recordingCase(scopes))
+        .add(recordingCase(scopes)));
+
+    runAll(test);
+
+    assertEquals(scopes.size(), 2);
+    assertNotEquals(scopes.get(0), original);
+    assertEquals(scopes.get(0).getParent(), original);
+    assertEquals(scopes.get(1), scopes.get(0));
+  }
+
+  private static void suite_scope_is_shared_by_subsuites() throws Throwable {
+    List<ClassLoader> scopes = new ArrayList<>();
+    Test test = suiteClassLoaderScoped(suite("suite")
+        .add(recordingCase(scopes))
+        .add(suite("subsuite")
+            .add(recordingCase(scopes))));
+
+    runAll(test);
+
+    assertEquals(scopes.size(), 2);
+    assertEquals(scopes.get(1), scopes.get(0));
+  }
+
+  private static void group_scope_is_shared_between_tests() throws Throwable {
+    List<ClassLoader> scopes = new ArrayList<>();
+    Test testA = classLoaderScoped("shared", suite("suiteA")
+        .add(recordingCase(scopes)));
+    Test testB = classLoaderScoped("shared", suite("suiteB")
+        .add(suite("suite")
+            .add(recordingCase(scopes))));
+    Test testC = classLoaderScoped("other", recordingCase(scopes));
+
+    runAll(testA);
+    runAll(testB);
+    runAll(testC);
+
+    assertEquals(scopes.size(), 3);
+    assertEquals(scopes.get(1), scopes.get(0));
+    assertNotEquals(scopes.get(2), scopes.get(0));
+  }
+
+  private static void group_scope_is_released_after_all_cases_run() throws Throwable {
+    List<ClassLoader> scopes = new ArrayList<>();
+    Test testA = classLoaderScoped("released", suite("suite")
+        .add(recordingCase(scopes))
+        .add(recordingCase(scopes)));
+    runAll(testA);
+    Test testB = classLoaderScoped("released", recordingCase(scopes));
+    runAll(testB);
+
+    assertEquals(scopes.size(), 3);
+    assertEquals(scopes.get(1), scopes.get(0));
+    assertNotEquals(scopes.get(2), scopes.get(0));
+  }
+
+  private static void group_scope_counts_cases_of_generated_suites() throws Throwable {
+    List<ClassLoader> scopes = new ArrayList<>();
+    Test testA = classLoaderScoped("generated", suite("suite")
+        .add(generated("generated", () -> Stream.of(
+            recordingCase(scopes),
+            recordingCase(scopes))))
+        .add(recordingCase(scopes)));
+    runAll(testA);
+    Test testB = classLoaderScoped("generated", recordingCase(scopes));
+    runAll(testB);
+
+    assertEquals(scopes.size(), 4);
+    assertEquals(scopes.get(1), scopes.get(0));
+    assertEquals(scopes.get(2), scopes.get(0));
+    assertNotEquals(scopes.get(3), scopes.get(0));
+  }
+
+  private static void group_scope_is_forgotten_if_cases_never_run() throws Throwable {
+    WeakReference<Test> neverRun = new WeakReference<>(
+        classLoaderScoped("forgotten", mockCase("case")));
+    for (int attempt = 0; attempt < 100 && neverRun.get() != null; attempt++) {
+      System.gc();
+      sleep(0.01);
+    }
+    assertEquals(neverRun.get(), null);
+    List<ClassLoader> scopes = new ArrayList<>();
+    Test testA = classLoaderScoped("forgotten", recordingCase(scopes));
+    runAll(testA);
+    Test testB = classLoaderScoped("forgotten", recordingCase(scopes));
+    runAll(testB);
+
+    assertEquals(scopes.size(), 2);
+    assertNotEquals(scopes.get(1), scopes.get(0));
+  }
+
+  private static void scope_does_not_generate_suites_when_scoping() {
+    AtomicInteger generatedCount = new AtomicInteger();
+    Test generatedSuite = generated("generated", () -> {
+      generatedCount.incrementAndGet();
+      return Stream.of(mockCase("case"));
+    });
+
+    suiteClassLoaderScoped(suite("suite").add(generatedSuite));
+    classLoaderScoped("generating", suite("suite").add(generatedSuite));
+
+    assertEquals(generatedCount.get(), 0);
+  }
+
+  private static void scope_is_armed_again_for_rerun() throws Throwable {
+    List<ClassLoader> scopes = new ArrayList<>();
+    Test suiteScoped = suiteClassLoaderScoped(suite("suite")
+        .add(generated("generated", () -> Stream.of(recordingCase(scopes))))
+        .add(recordingCase(scopes)));
+    Test groupScoped = classLoaderScoped("rerun", suite("suite")
+        .add(recordingCase(scopes))
+        .add(recordingCase(scopes)));
+
+    for (Test test : asList(suiteScoped, groupScoped)) {
+      scopes.clear();
+      runAll(test);
+      runAll(test);
+
+      assertEquals(scopes.size(), 4);
+      assertEquals(scopes.get(1), scopes.get(0));
+      assertEquals(scopes.get(3), scopes.get(2));
+      assertNotEquals(scopes.get(2), scopes.get(0));
+    }
+  }
+
+  /** Cases that run at the same time are registered in the same live group. */
+  private static void group_scope_is_not_split_by_concurrent_scoping() throws Throwable {
+    List<Object[]> runs = synchronizedList(new ArrayList<>());
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      threads.add(new Thread(() -> {
+        for (int j = 0; j < 200; j++) {
+          Test test = classLoaderScoped("concurrent", newCase("case", () -> {
+            long start = System.nanoTime();
+            sleepBusy(0.00005);
+            runs.add(new Object[] {
+                start, System.nanoTime(), Thread.currentThread().getContextClassLoader() });
+          }));
+          try {
+            runAll(test);
+          } catch (Throwable throwable) {
+            throw new RuntimeException(throwable);
+          }
+        }
+      }));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    for (Object[] first : runs) {
+      for (Object[] second : runs) {
+        boolean overlapping = (long) first[0] < (long) second[1]
+            && (long) second[0] < (long) first[1];
+        if (overlapping) {
+          assertEquals(second[2], first[2]);
+        }
+      }
+    }
+  }
+
+  private static Test recordingCase(List<ClassLoader> scopes) {
+    return newCase("case", () -> {
+      scopes.add(Thread.currentThread().getContextClassLoader());
+    });
+  }
+
+  private static void runAll(Test test) throws Throwable {
+    List<Throwable> thrown = new ArrayList<>();
+    walk(test,
+        node -> true,
+        node -> node.visit(
+            (name, body) -> thrownBy(body).map(thrown::add),
+            (name, children) -> null));
+    if (!thrown.isEmpty()) {
+      throw thrown.get(0);
+    }
   }
 
   private static void scope_is_not_context_classloader() throws Throwable {
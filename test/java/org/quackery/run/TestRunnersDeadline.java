@@ -0,0 +1,130 @@
+package org.quackery.run;
+
+import static org.quackery.Case.newCase;
+import static org.quackery.Suite.suite;
+import static org.quackery.run.Runners.concurrent;
+import static org.quackery.run.Runners.deadline;
+import static org.quackery.run.Runners.run;
+import static org.quackery.run.TestingDecorators.decorator_preserves_case_result;
+import static org.quackery.run.TestingDecorators.decorator_preserves_names_and_structure;
+import static org.quackery.run.TestingDecorators.decorator_runs_cases_lazily;
+import static org.quackery.run.TestingDecorators.decorator_validates_arguments;
+import static org.quackery.testing.Testing.assertEquals;
+import static org.quackery.testing.Testing.assertTrue;
+import static org.quackery.testing.Testing.childrenOf;
+import static org.quackery.testing.Testing.fail;
+import static org.quackery.testing.Testing.mockCase;
+import static org.quackery.testing.Testing.runAndCatch;
+import static org.quackery.testing.Testing.seconds;
+import static org.quackery.testing.Testing.sleep;
+import static org.quackery.testing.Testing.sleepBusy;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.quackery.QuackeryException;
+import org.quackery.Test;
+import org.quackery.report.AssumeException;
+
+public class TestRunnersDeadline {
+  public static void test_runners_deadline() throws Throwable {
+    Function<Test, Test> decorator = test -> deadline(seconds(1), test);
+
+    decorator_preserves_names_and_structure(decorator);
+    decorator_preserves_case_result(decorator);
+    decorator_validates_arguments(decorator);
+    decorator_runs_cases_lazily(decorator);
+
+    runs_cases_within_deadline();
+    skips_cases_after_deadline();
+    fails_running_cases_at_deadline();
+    fails_uninterruptible_case_at_deadline();
+    counts_deadline_from_first_case();
+    applies_nested_deadlines();
+    cancels_alarm_after_cases_finish();
+    validates_arguments();
+  }
+
+  private static void runs_cases_within_deadline() {
+    Test report = run(deadline(seconds(1), suite("suite")
+        .add(mockCase("caseA"))
+        .add(mockCase("caseB"))));
+
+    for (Test child : childrenOf(report)) {
+      assertEquals(runAndCatch(child), Optional.empty());
+    }
+  }
+
+  private static void skips_cases_after_deadline() {
+    AtomicInteger invoked = new AtomicInteger();
+    Test report = run(deadline(seconds(0.05), suite("suite")
+        .add(newCase("caseA", () -> sleepBusy(0.1)))
+        .add(newCase("caseB", () -> invoked.incrementAndGet()))));
+
+    List<Test> children = childrenOf(report);
+    assertTrue(runAndCatch(children.get(1)).get() instanceof AssumeException);
+    assertEquals(invoked.get(), 0);
+  }
+
+  private static void fails_running_cases_at_deadline() {
+    Test report = run(concurrent(deadline(seconds(0.05), suite("suite")
+        .add(newCase("caseA", () -> sleep(1)))
+        .add(newCase("caseB", () -> sleep(1))))));
+
+    for (Test child : childrenOf(report)) {
+      Throwable thrown = runAndCatch(child).get();
+      assertTrue(thrown instanceof InterruptedException);
+      assertTrue(thrown.getMessage().contains("deadline"));
+    }
+  }
+
+  private static void fails_uninterruptible_case_at_deadline() {
+    Test report = run(deadline(seconds(0.05), newCase("case", () -> sleepBusy(0.1))));
+
+    assertTrue(runAndCatch(report).get() instanceof InterruptedException);
+    assertTrue(!Thread.currentThread().isInterrupted());
+  }
+
+  private static void counts_deadline_from_first_case() throws InterruptedException {
+    Test test = deadline(seconds(0.05), mockCase("case"));
+    sleep(0.1);
+
+    assertEquals(runAndCatch(run(test)), Optional.empty());
+  }
+
+  private static void applies_nested_deadlines() {
+    Test report = run(deadline(seconds(0.05), suite("outer")
+        .add(deadline(seconds(1), suite("inner")
+            .add(newCase("caseA", () -> sleep(1)))
+            .add(mockCase("caseB"))))));
+
+    List<Test> inner = childrenOf(childrenOf(report).get(0));
+    assertTrue(runAndCatch(inner.get(0)).get() instanceof InterruptedException);
+    assertTrue(runAndCatch(inner.get(1)).get() instanceof AssumeException);
+  }
+
+  private static void cancels_alarm_after_cases_finish() throws InterruptedException {
+    run(deadline(seconds(60), suite("suite")
+        .add(mockCase("caseA"))
+        .add(mockCase("caseB"))));
+
+    for (int i = 0; i < 100 && isInterrupterAlive(); i++) {
+      sleep(0.01);
+    }
+    assertTrue(!isInterrupterAlive());
+  }
+
+  private static boolean isInterrupterAlive() {
+    return Thread.getAllStackTraces().keySet().stream()
+        .anyMatch(thread -> thread.getName().equals("quackery-interrupter"));
+  }
+
+  private static void validates_arguments() {
+    try {
+      deadline(seconds(-1), mockCase("case"));
+      fail();
+    } catch (QuackeryException e) {}
+  }
+}
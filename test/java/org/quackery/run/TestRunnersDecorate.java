@@ -0,0 +1,119 @@
+package org.quackery.run;
+
+import static org.quackery.Case.newCase;
+import static org.quackery.Suite.suite;
+import static org.quackery.run.Runners.classLoaderScoped;
+import static org.quackery.run.Runners.decorate;
+import static org.quackery.run.Runners.expect;
+import static org.quackery.run.Runners.threadScoped;
+import static org.quackery.run.Runners.timeout;
+import static org.quackery.run.TestingDecorators.decorator_preserves_case_result;
+import static org.quackery.run.TestingDecorators.decorator_preserves_names_and_structure;
+import static org.quackery.run.TestingDecorators.decorator_runs_cases_lazily;
+import static org.quackery.run.TestingDecorators.decorator_validates_arguments;
+import static org.quackery.testing.Testing.assertEquals;
+import static org.quackery.testing.Testing.assertTrue;
+import static org.quackery.testing.Testing.childrenOf;
+import static org.quackery.testing.Testing.fail;
+import static org.quackery.testing.Testing.mockCase;
+import static org.quackery.testing.Testing.runAndThrow;
+import static org.quackery.testing.Testing.seconds;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.quackery.Body;
+import org.quackery.QuackeryException;
+import org.quackery.Test;
+
+public class TestRunnersDecorate {
+  public static void test_runners_decorate() throws Throwable {
+    Function<Test, Test> decorator = test -> decorate(test,
+        classLoaderScoped(),
+        threadScoped(),
+        timeout(seconds(1)));
+
+    decorator_preserves_names_and_structure(decorator);
+    decorator_preserves_case_result(decorator);
+    decorator_validates_arguments(decorator);
+    decorator_runs_cases_lazily(decorator);
+
+    applies_decorators_in_order();
+    combines_with_expect();
+    reuses_test_if_nothing_decorated();
+    reuses_suites_with_undecorated_cases();
+    validates_arguments();
+  }
+
+  private static void applies_decorators_in_order() throws Throwable {
+    List<String> log = new ArrayList<>();
+    Test test = decorate(newCase("case", () -> log.add("body")),
+        logging("first", log),
+        logging("second", log));
+
+    runAndThrow(test);
+
+    assertEquals(log.toString(), "[second, first, body]");
+  }
+
+  private static Function<Body, Body> logging(String message, List<String> log) {
+    return body -> () -> {
+      log.add(message);
+      body.run();
+    };
+  }
+
+  private static void combines_with_expect() throws Throwable {
+    Test test = decorate(mockCase("case", new IllegalStateException()),
+        threadScoped(),
+        expect(IllegalStateException.class));
+
+    runAndThrow(test);
+  }
+
+  private static void reuses_test_if_nothing_decorated() {
+    Test test = suite("suite")
+        .add(mockCase("case"));
+
+    assertTrue(decorate(test) == test);
+    assertTrue(decorate(test, Function.identity()) == test);
+    assertTrue(decorate(test, body -> body) == test);
+  }
+
+  private static void reuses_suites_with_undecorated_cases() {
+    Body decoratedBody = () -> {};
+    Test decorated = newCase("decorated", decoratedBody);
+    Test undecorated = suite("undecorated")
+        .add(newCase("case", () -> {
+          throw new RuntimeException();
+        }));
+    Test test = suite("suite")
+        .add(decorated)
+        .add(undecorated);
+
+    Test result = decorate(test, body -> body == decoratedBody
+        ? () -> {}
+        : body);
+
+    assertTrue(result != test);
+    assertTrue(childrenOf(result).get(0) != decorated);
+    assertTrue(childrenOf(result).get(1) == undecorated);
+  }
+
+  private static void validates_arguments() {
+    Test test = mockCase("case");
+    try {
+      decorate(test, (Function<Body, Body>[]) null);
+      fail();
+    } catch (QuackeryException e) {}
+    try {
+      decorate(test, threadScoped(), null);
+      fail();
+    } catch (QuackeryException e) {}
+    try {
+      timeout(seconds(-1));
+      fail();
+    } catch (QuackeryException e) {}
+  }
+}
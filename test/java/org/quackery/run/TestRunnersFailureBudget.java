@@ -0,0 +1,110 @@
+package org.quackery.run;
+
+import static org.quackery.Case.newCase;
+import static org.quackery.Suite.suite;
+import static org.quackery.run.Runners.concurrent;
+import static org.quackery.run.Runners.failFast;
+import static org.quackery.run.Runners.failureBudget;
+import static org.quackery.run.Runners.run;
+import static org.quackery.run.TestingDecorators.decorator_preserves_case_result;
+import static org.quackery.run.TestingDecorators.decorator_preserves_names_and_structure;
+import static org.quackery.run.TestingDecorators.decorator_runs_cases_lazily;
+import static org.quackery.run.TestingDecorators.decorator_validates_arguments;
+import static org.quackery.testing.Testing.assertEquals;
+import static org.quackery.testing.Testing.assertTrue;
+import static org.quackery.testing.Testing.childrenOf;
+import static org.quackery.testing.Testing.fail;
+import static org.quackery.testing.Testing.mockCase;
+import static org.quackery.testing.Testing.runAndCatch;
+import static org.quackery.testing.Testing.sleep;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.quackery.QuackeryException;
+import org.quackery.Test;
+import org.quackery.report.AssumeException;
+
+public class TestRunnersFailureBudget {
+  public static void test_runners_failure_budget() throws Throwable {
+    Function<Test, Test> decorator = test -> failFast(test);
+
+    decorator_preserves_names_and_structure(decorator);
+    decorator_preserves_case_result(decorator);
+    decorator_validates_arguments(decorator);
+    decorator_runs_cases_lazily(decorator);
+
+    Function<Test, Test> budgetDecorator = test -> failureBudget(2, test);
+    decorator_preserves_names_and_structure(budgetDecorator);
+    decorator_preserves_case_result(budgetDecorator);
+    decorator_validates_arguments(budgetDecorator);
+    decorator_runs_cases_lazily(budgetDecorator);
+
+    skips_cases_after_first_failure();
+    runs_cases_until_budget_is_exhausted();
+    does_not_count_misassumptions_as_failures();
+    interrupts_running_cases();
+    validates_budget();
+  }
+
+  private static void skips_cases_after_first_failure() {
+    AtomicInteger invoked = new AtomicInteger();
+    Throwable throwable = new Throwable();
+    Test report = run(failFast(suite("suite")
+        .add(mockCase("caseA", throwable))
+        .add(newCase("caseB", () -> invoked.incrementAndGet()))));
+
+    List<Test> children = childrenOf(report);
+    assertEquals(runAndCatch(children.get(0)), Optional.of(throwable));
+    assertTrue(runAndCatch(children.get(1)).get() instanceof AssumeException);
+    assertEquals(invoked.get(), 0);
+  }
+
+  private static void runs_cases_until_budget_is_exhausted() {
+    AtomicInteger invoked = new AtomicInteger();
+    Test report = run(failureBudget(2, suite("suite")
+        .add(mockCase("caseA", new Throwable()))
+        .add(newCase("caseB", () -> invoked.incrementAndGet()))
+        .add(mockCase("caseC", new Throwable()))
+        .add(newCase("caseD", () -> invoked.incrementAndGet()))));
+
+    List<Test> children = childrenOf(report);
+    assertEquals(runAndCatch(children.get(1)), Optional.empty());
+    assertTrue(runAndCatch(children.get(3)).get() instanceof AssumeException);
+    assertEquals(invoked.get(), 1);
+  }
+
+  private static void does_not_count_misassumptions_as_failures() {
+    AtomicInteger invoked = new AtomicInteger();
+    run(failFast(suite("suite")
+        .add(mockCase("caseA", new AssumeException()))
+        .add(newCase("caseB", () -> invoked.incrementAndGet()))));
+
+    assertEquals(invoked.get(), 1);
+  }
+
+  private static void interrupts_running_cases() {
+    long start = System.nanoTime();
+    Test report = run(concurrent(failFast(suite("suite")
+        .add(newCase("caseA", () -> sleep(10)))
+        .add(newCase("caseB", () -> {
+          sleep(0.05);
+          throw new Throwable();
+        })))));
+    long duration = System.nanoTime() - start;
+
+    Throwable thrown = runAndCatch(childrenOf(report).get(0)).get();
+    assertTrue(duration < 1e9);
+    assertTrue(thrown instanceof AssumeException);
+    assertTrue(thrown.getCause() instanceof InterruptedException);
+  }
+
+  private static void validates_budget() {
+    try {
+      failureBudget(0, mockCase("case"));
+      fail();
+    } catch (QuackeryException e) {}
+  }
+}
@@ -0,0 +1,139 @@
+package org.quackery.run;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.quackery.Case.newCase;
+import static org.quackery.Suite.generated;
+import static org.quackery.Suite.suite;
+import static org.quackery.report.Reports.count;
+import static org.quackery.run.Runners.forkJoin;
+import static org.quackery.run.Runners.run;
+import static org.quackery.run.TestingDecorators.decorator_preserves_case_result;
+import static org.quackery.run.TestingDecorators.decorator_preserves_names_and_structure;
+import static org.quackery.run.TestingDecorators.decorator_runs_cases_eagerly;
+import static org.quackery.run.TestingDecorators.decorator_validates_arguments;
+import static org.quackery.testing.Testing.assertEquals;
+import static org.quackery.testing.Testing.assertTrue;
+import static org.quackery.testing.Testing.fail;
+import static org.quackery.testing.Testing.mockCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import org.quackery.QuackeryException;
+import org.quackery.Test;
+
+public class TestRunnersForkJoin {
+  public static void test_runners_fork_join() throws Throwable {
+    ForkJoinPool pool = new ForkJoinPool(3);
+    Function<Test, Test> decorator = test -> run(forkJoin(pool, test));
+
+    decorator_preserves_names_and_structure(decorator);
+    decorator_preserves_case_result(decorator);
+    decorator_validates_arguments(decorator);
+    decorator_runs_cases_eagerly(decorator);
+
+    runs_cases_of_suite_concurrently(pool);
+    runs_subsuites_concurrently(pool);
+    runs_every_case_of_big_tree_once(pool);
+    runs_deep_hierarchy(pool);
+    runs_generated_suite(pool);
+    validates_arguments(pool);
+
+    pool.shutdown();
+    assertTrue(pool.awaitTermination(1, SECONDS));
+  }
+
+  private static void runs_cases_of_suite_concurrently(ForkJoinPool pool) {
+    CountDownLatch latch = new CountDownLatch(3);
+    AtomicBoolean failed = new AtomicBoolean(false);
+    Test test = suite("")
+        .add(countDown(latch, failed))
+        .add(countDown(latch, failed))
+        .add(countDown(latch, failed));
+
+    run(forkJoin(pool, test));
+
+    assertTrue(!failed.get());
+  }
+
+  private static void runs_subsuites_concurrently(ForkJoinPool pool) {
+    CountDownLatch latch = new CountDownLatch(3);
+    AtomicBoolean failed = new AtomicBoolean(false);
+    Test test = suite("")
+        .add(suite("")
+            .add(countDown(latch, failed)))
+        .add(suite("")
+            .add(suite("")
+                .add(countDown(latch, failed)))
+            .add(countDown(latch, failed)));
+
+    run(forkJoin(pool, test));
+
+    assertTrue(!failed.get());
+  }
+
+  private static Test countDown(CountDownLatch latch, AtomicBoolean failed) {
+    return newCase("countDown", () -> {
+      latch.countDown();
+      if (!latch.await(1, SECONDS)) {
+        failed.set(true);
+      }
+    });
+  }
+
+  private static void runs_every_case_of_big_tree_once(ForkJoinPool pool) {
+    AtomicInteger invoked = new AtomicInteger();
+    List<Test> suites = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      List<Test> cases = new ArrayList<>();
+      for (int j = 0; j < 100; j++) {
+        cases.add(newCase("case", () -> invoked.incrementAndGet()));
+      }
+      suites.add(suite("suite").addAll(cases));
+    }
+
+    Test report = run(forkJoin(pool, suite("root").addAll(suites)));
+
+    assertEquals(invoked.get(), 10_000);
+    assertEquals(count(Throwable.class, report), 0);
+  }
+
+  private static void runs_deep_hierarchy(ForkJoinPool pool) {
+    Test test = mockCase("case", new RuntimeException());
+    for (int i = 0; i < 10_000; i++) {
+      test = suite("suite").add(test);
+    }
+
+    Test report = run(forkJoin(pool, test));
+
+    assertEquals(count(Throwable.class, report), 1);
+  }
+
+  private static void runs_generated_suite(ForkJoinPool pool) {
+    AtomicInteger invoked = new AtomicInteger();
+    Test test = suite("suite")
+        .add(generated("generated", () -> IntStream.range(0, 100)
+            .mapToObj(i -> newCase("case", () -> invoked.incrementAndGet()))));
+
+    run(forkJoin(pool, test));
+
+    assertEquals(invoked.get(), 100);
+  }
+
+  private static void validates_arguments(ForkJoinPool pool) {
+    try {
+      forkJoin(null, mockCase("case"));
+      fail();
+    } catch (QuackeryException e) {}
+    try {
+      forkJoin(pool, null);
+      fail();
+    } catch (QuackeryException e) {}
+  }
+}
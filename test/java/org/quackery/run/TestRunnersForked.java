@@ -0,0 +1,175 @@
+package org.quackery.run;
+
+import static org.quackery.Case.newCase;
+import static org.quackery.Suite.suite;
+import static org.quackery.report.Reports.count;
+import static org.quackery.run.Runners.forked;
+import static org.quackery.run.Runners.run;
+import static org.quackery.testing.Testing.assertEquals;
+import static org.quackery.testing.Testing.assertTrue;
+import static org.quackery.testing.Testing.childrenOf;
+import static org.quackery.testing.Testing.fail;
+import static org.quackery.testing.Testing.nameOf;
+import static org.quackery.testing.Testing.runAndCatch;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.quackery.QuackeryException;
+import org.quackery.Test;
+import org.quackery.report.AssertException;
+import org.quackery.report.AssumeException;
+
+public class TestRunnersForked {
+  private static boolean parentJvm;
+
+  public static void test_runners_forked() throws Throwable {
+    parentJvm = true;
+    runs_cases_in_other_jvm();
+    preserves_names_and_structure();
+    reports_results();
+    survives_worker_that_exits();
+    validates_arguments();
+  }
+
+  private static void runs_cases_in_other_jvm() throws Throwable {
+    Test report = run(forked(2, method("inOtherJvm")));
+
+    assertEquals(count(Throwable.class, report), 0);
+  }
+
+  public static Test inOtherJvm() {
+    List<Test> cases = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      cases.add(newCase("case" + i, () -> {
+        if (parentJvm) {
+          throw new AssertException("run in parent jvm");
+        }
+      }));
+    }
+    cases.add(newCase("printing", () -> {
+      System.out.print(" ");
+      System.out.flush();
+    }));
+    return suite("suite").addAll(cases);
+  }
+
+  private static void preserves_names_and_structure() throws Throwable {
+    Test report = run(forked(1, method("hierarchy")));
+
+    assertEquals(names(report), names(hierarchy()));
+  }
+
+  public static Test hierarchy() {
+    return suite("root")
+        .add(newCase("caseA", () -> {}))
+        .add(suite("suite")
+            .add(newCase("caseB", () -> {}))
+            .add(suite("empty")))
+        .add(newCase("caseC", () -> {}));
+  }
+
+  private static void reports_results() throws Throwable {
+    List<Test> children = childrenOf(run(forked(1, method("results"))));
+
+    assertTrue(!runAndCatch(children.get(0)).isPresent());
+    Throwable failed = runAndCatch(children.get(1)).get();
+    assertTrue(failed instanceof AssertException);
+    assertEquals(failed.getMessage(), "message");
+    assertTrue(runAndCatch(children.get(2)).get() instanceof AssumeException);
+    Throwable unserializable = runAndCatch(children.get(3)).get();
+    assertTrue(unserializable instanceof QuackeryException);
+    assertTrue(unserializable.getMessage().contains("unserializable"));
+  }
+
+  public static Test results() {
+    return suite("suite")
+        .add(newCase("success", () -> {}))
+        .add(newCase("failure", () -> {
+          throw new AssertException("message");
+        }))
+        .add(newCase("assumption", () -> {
+          throw new AssumeException();
+        }))
+        .add(newCase("unserializable", () -> {
+          throw new UnserializableException();
+        }));
+  }
+
+  private static class UnserializableException extends RuntimeException {
+    @SuppressWarnings("unused")
+    private final Object field = new Object();
+
+    public UnserializableException() {
+      super("unserializable");
+    }
+  }
+
+  private static void survives_worker_that_exits() throws Throwable {
+    List<Test> children = childrenOf(run(forked(2, method("exiting"))));
+
+    assertTrue(runAndCatch(childrenOf(children.get(0)).get(0)).get() instanceof QuackeryException);
+    for (Test child : childrenOf(children.get(1))) {
+      assertTrue(!runAndCatch(child).isPresent());
+    }
+  }
+
+  public static Test exiting() {
+    return suite("root")
+        .add(suite("exiting")
+            .add(newCase("case", () -> Runtime.getRuntime().halt(1))))
+        .add(suite("other")
+            .add(newCase("caseA", () -> {}))
+            .add(newCase("caseB", () -> {})));
+  }
+
+  private static void validates_arguments() throws Throwable {
+    for (Method method : new Method[] {
+        null,
+        TestRunnersForked.class.getDeclaredMethod("instance"),
+        TestRunnersForked.class.getDeclaredMethod("parameter", int.class),
+        TestRunnersForked.class.getDeclaredMethod("notTest") }) {
+      try {
+        forked(1, method);
+        fail();
+      } catch (QuackeryException e) {}
+    }
+    try {
+      forked(0, method("hierarchy"));
+      fail();
+    } catch (QuackeryException e) {}
+  }
+
+  public Test instance() {
+    return hierarchy();
+  }
+
+  public static Test parameter(int parameter) {
+    return hierarchy();
+  }
+
+  public static Object notTest() {
+    return hierarchy();
+  }
+
+  private static List<String> names(Test root) {
+    List<String> names = new ArrayList<>();
+    names.add(nameOf(root));
+    root.visit(
+        (name, body) -> null,
+        (name, children) -> {
+          names.add("(");
+          for (Test child : children) {
+            names.addAll(names(child));
+          }
+          names.add(")");
+          return null;
+        });
+    return names;
+  }
+
+  private static Method method(String name) throws NoSuchMethodException {
+    return TestRunnersForked.class.getMethod(name);
+  }
+}
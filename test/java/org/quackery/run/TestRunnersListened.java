@@ -0,0 +1,191 @@
+package org.quackery.run;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.synchronizedList;
+import static org.quackery.Case.newCase;
+import static org.quackery.Suite.generated;
+import static org.quackery.Suite.suite;
+import static org.quackery.run.Runners.concurrent;
+import static org.quackery.run.Runners.listened;
+import static org.quackery.run.Runners.run;
+import static org.quackery.run.TestingDecorators.decorator_preserves_case_result;
+import static org.quackery.run.TestingDecorators.decorator_preserves_names_and_structure;
+import static org.quackery.run.TestingDecorators.decorator_runs_cases_lazily;
+import static org.quackery.run.TestingDecorators.decorator_validates_arguments;
+import static org.quackery.testing.Testing.assertEquals;
+import static org.quackery.testing.Testing.assertTrue;
+import static org.quackery.testing.Testing.fail;
+import static org.quackery.testing.Testing.mockCase;
+import static org.quackery.testing.Testing.sleep;
+
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import org.quackery.QuackeryException;
+import org.quackery.Test;
+import org.quackery.report.Result;
+
+public class TestRunnersListened {
+  public static void test_runners_listened() throws Throwable {
+    Function<Test, Test> decorator = test -> listened(new RunListener() {}, test);
+
+    decorator_preserves_names_and_structure(decorator);
+    decorator_preserves_case_result(decorator);
+    decorator_validates_arguments(decorator);
+    decorator_runs_cases_lazily(decorator);
+
+    reports_events_in_order();
+    reports_results_of_cases();
+    reports_generated_suites();
+    delivers_all_events_before_run_returns();
+    delivers_events_serially();
+    reports_failing_listener();
+    validates_listener();
+  }
+
+  private static void reports_events_in_order() {
+    Recorder recorder = new Recorder();
+    run(listened(recorder, suite("root")
+        .add(mockCase("caseA"))
+        .add(suite("suite")
+            .add(mockCase("caseB")))));
+
+    assertEquals(recorder.events, asList(
+        "suiteStarted [root]",
+        "caseStarted [root, caseA]",
+        "caseFinished [root, caseA] true",
+        "suiteStarted [root, suite]",
+        "caseStarted [root, suite, caseB]",
+        "caseFinished [root, suite, caseB] true",
+        "suiteFinished [root, suite]",
+        "suiteFinished [root]",
+        "runFinished"));
+  }
+
+  private static void reports_results_of_cases() {
+    Throwable throwable = new Throwable();
+    List<Result> results = new ArrayList<>();
+    run(listened(new RunListener() {
+      public void caseFinished(List<String> path, Result result) {
+        results.add(result);
+      }
+    }, mockCase("case", throwable)));
+
+    assertEquals(results.size(), 1);
+    assertEquals(results.get(0).getThrown().get(), throwable);
+  }
+
+  private static void reports_generated_suites() {
+    Recorder recorder = new Recorder();
+    run(listened(recorder, generated("generated", () -> IntStream.range(0, 2)
+        .mapToObj(i -> mockCase("case" + i)))));
+
+    assertEquals(recorder.events, asList(
+        "suiteStarted [generated]",
+        "caseStarted [generated, case0]",
+        "caseFinished [generated, case0] true",
+        "caseStarted [generated, case1]",
+        "caseFinished [generated, case1] true",
+        "suiteFinished [generated]",
+        "runFinished"));
+  }
+
+  private static void delivers_all_events_before_run_returns() {
+    Recorder recorder = new Recorder();
+    List<Test> cases = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      cases.add(mockCase("case" + i));
+    }
+
+    run(concurrent(listened(recorder, suite("suite").addAll(cases))));
+
+    assertEquals(recorder.events.size(), 2 * 100 + 3);
+    assertEquals(recorder.events.get(0), "suiteStarted [suite]");
+    assertEquals(recorder.events.get(recorder.events.size() - 2), "suiteFinished [suite]");
+    assertEquals(recorder.events.get(recorder.events.size() - 1), "runFinished");
+  }
+
+  private static void delivers_events_serially() {
+    AtomicInteger inside = new AtomicInteger();
+    AtomicInteger overlapping = new AtomicInteger();
+    RunListener listener = new RunListener() {
+      public void caseFinished(List<String> path, Result result) {
+        if (inside.incrementAndGet() > 1) {
+          overlapping.incrementAndGet();
+        }
+        try {
+          sleep(0.001);
+        } catch (InterruptedException e) {}
+        inside.decrementAndGet();
+      }
+    };
+    List<Test> cases = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      cases.add(mockCase("case" + i));
+    }
+
+    run(concurrent(listened(listener, suite("suite").addAll(cases))));
+
+    assertEquals(overlapping.get(), 0);
+  }
+
+  private static void reports_failing_listener() {
+    RuntimeException exception = new RuntimeException();
+    Recorder failing = new Recorder() {
+      public void caseStarted(List<String> path) {
+        super.caseStarted(path);
+        throw exception;
+      }
+    };
+    Recorder recorder = new Recorder();
+    List<Throwable> uncaught = synchronizedList(new ArrayList<>());
+    UncaughtExceptionHandler original = Thread.getDefaultUncaughtExceptionHandler();
+    Thread.setDefaultUncaughtExceptionHandler((thread, throwable) -> uncaught.add(throwable));
+    try {
+      run(listened(failing, listened(recorder, suite("suite")
+          .add(mockCase("caseA"))
+          .add(mockCase("caseB")))));
+    } finally {
+      Thread.setDefaultUncaughtExceptionHandler(original);
+    }
+
+    assertEquals(uncaught, asList(exception, exception));
+    assertEquals(failing.events, recorder.events);
+    assertTrue(recorder.events.contains("runFinished"));
+  }
+
+  private static void validates_listener() {
+    try {
+      listened(null, mockCase("case"));
+      fail();
+    } catch (QuackeryException e) {}
+  }
+
+  private static class Recorder implements RunListener {
+    final List<String> events = new ArrayList<>();
+
+    public void suiteStarted(List<String> path) {
+      events.add("suiteStarted " + path);
+    }
+
+    public void suiteFinished(List<String> path) {
+      events.add("suiteFinished " + path);
+    }
+
+    public void caseStarted(List<String> path) {
+      events.add("caseStarted " + path);
+    }
+
+    public void caseFinished(List<String> path, Result result) {
+      events.add("caseFinished " + path + " " + result.isSuccessful());
+    }
+
+    public void runFinished() {
+      events.add("runFinished");
+    }
+  }
+}
@@ -0,0 +1,140 @@
+package org.quackery.run;
+
+import static org.quackery.Case.newCase;
+import static org.quackery.run.Runners.pooledThreadScoped;
+import static org.quackery.run.TestingDecorators.decorator_preserves_case_result;
+import static org.quackery.run.TestingDecorators.decorator_preserves_names_and_structure;
+import static org.quackery.run.TestingDecorators.decorator_runs_cases_lazily;
+import static org.quackery.run.TestingDecorators.decorator_validates_arguments;
+import static org.quackery.testing.Testing.assertEquals;
+import static org.quackery.testing.Testing.assertNotEquals;
+import static org.quackery.testing.Testing.assertTrue;
+import static org.quackery.testing.Testing.fail;
+import static org.quackery.testing.Testing.interruptMeAfter;
+import static org.quackery.testing.Testing.runAndThrow;
+import static org.quackery.testing.Testing.sleep;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.quackery.Test;
+
+public class TestRunnersPooledThreadScoped {
+  public static void test_runners_pooled_thread_scoped() throws Throwable {
+    Function<Test, Test> decorator = test -> pooledThreadScoped(test);
+
+    decorator_preserves_names_and_structure(decorator);
+    decorator_preserves_case_result(decorator);
+    decorator_validates_arguments(decorator);
+    decorator_runs_cases_lazily(decorator);
+
+    propagates_interruption();
+    runs_test_in_different_thread_than_caller();
+    clears_interrupt_status();
+    clears_thread_locals();
+    clears_inheritable_thread_locals();
+    uses_context_class_loader_of_caller();
+  }
+
+  private static void runs_test_in_different_thread_than_caller() throws Throwable {
+    Thread callerThread = Thread.currentThread();
+    AtomicReference<Thread> scope = new AtomicReference<>();
+    Test test = pooledThreadScoped(newCase("case", () -> {
+      scope.set(Thread.currentThread());
+    }));
+
+    runAndThrow(test);
+
+    assertNotEquals(scope.get(), null);
+    assertNotEquals(scope.get(), callerThread);
+  }
+
+  private static void clears_interrupt_status() throws Throwable {
+    AtomicBoolean interrupted = new AtomicBoolean(true);
+    Test testA = pooledThreadScoped(newCase("caseA", () -> {
+      Thread.currentThread().interrupt();
+    }));
+    Test testB = pooledThreadScoped(newCase("caseB", () -> {
+      interrupted.set(Thread.currentThread().isInterrupted());
+    }));
+
+    runAndThrow(testA);
+    runAndThrow(testB);
+
+    assertTrue(!interrupted.get());
+  }
+
+  /** Thread locals set by body can be cleared only if jvm allows reflection on thread. */
+  private static void clears_thread_locals() throws Throwable {
+    if (!PooledThreads.clearsThreadLocals()) {
+      return;
+    }
+    ThreadLocal<String> local = new ThreadLocal<>();
+    AtomicReference<String> value = new AtomicReference<>("unset");
+    Test testA = pooledThreadScoped(newCase("caseA", () -> {
+      local.set("caseA");
+    }));
+    Test testB = pooledThreadScoped(newCase("caseB", () -> {
+      value.set(local.get());
+    }));
+
+    runAndThrow(testA);
+    runAndThrow(testB);
+
+    assertEquals(value.get(), null);
+  }
+
+  private static void clears_inheritable_thread_locals() throws Throwable {
+    InheritableThreadLocal<String> local = new InheritableThreadLocal<>();
+    AtomicReference<String> value = new AtomicReference<>("unset");
+    local.set("caller");
+    Test test = pooledThreadScoped(newCase("case", () -> {
+      value.set(local.get());
+    }));
+
+    try {
+      runAndThrow(test);
+    } finally {
+      local.remove();
+    }
+
+    assertEquals(value.get(), null);
+  }
+
+  private static void uses_context_class_loader_of_caller() throws Throwable {
+    ClassLoader callerLoader = Thread.currentThread().getContextClassLoader();
+    AtomicReference<ClassLoader> loader = new AtomicReference<>();
+    Test testA = pooledThreadScoped(newCase("caseA", () -> {
+      Thread.currentThread().setContextClassLoader(new ClassLoader(callerLoader) {});
+    }));
+    Test testB = pooledThreadScoped(newCase("caseB", () -> {
+      loader.set(Thread.currentThread().getContextClassLoader());
+    }));
+
+    runAndThrow(testA);
+    runAndThrow(testB);
+
+    assertEquals(loader.get(), callerLoader);
+  }
+
+  private static void propagates_interruption() throws Throwable {
+    AtomicBoolean interrupted = new AtomicBoolean(false);
+    Test test = pooledThreadScoped(newCase("case", () -> {
+      try {
+        sleep(1);
+        interrupted.set(false);
+      } catch (InterruptedException e) {
+        interrupted.set(true);
+        throw e;
+      }
+    }));
+
+    interruptMeAfter(0.01);
+    try {
+      runAndThrow(test);
+      fail();
+    } catch (InterruptedException e) {}
+    assertTrue(interrupted.get());
+  }
+}
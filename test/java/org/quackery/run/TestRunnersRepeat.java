@@ -0,0 +1,162 @@
+package org.quackery.run;
+
+import static org.quackery.Case.newCase;
+import static org.quackery.run.Runners.repeat;
+import static org.quackery.run.Runners.run;
+import static org.quackery.run.Runners.stress;
+import static org.quackery.run.TestingDecorators.decorator_preserves_case_result;
+import static org.quackery.run.TestingDecorators.decorator_preserves_names_and_structure;
+import static org.quackery.run.TestingDecorators.decorator_runs_cases_lazily;
+import static org.quackery.run.TestingDecorators.decorator_validates_arguments;
+import static org.quackery.testing.Testing.assertEquals;
+import static org.quackery.testing.Testing.assertTrue;
+import static org.quackery.testing.Testing.fail;
+import static org.quackery.testing.Testing.interruptMeAfter;
+import static org.quackery.testing.Testing.mockCase;
+import static org.quackery.testing.Testing.runAndCatch;
+import static org.quackery.testing.Testing.seconds;
+import static org.quackery.testing.Testing.sleep;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.quackery.QuackeryException;
+import org.quackery.Test;
+import org.quackery.report.AssertException;
+import org.quackery.report.AssumeException;
+
+public class TestRunnersRepeat {
+  public static void test_runners_repeat() throws Throwable {
+    Function<Test, Test> decorator = test -> repeat(1, test);
+
+    decorator_preserves_names_and_structure(decorator);
+    decorator_preserves_case_result(decorator);
+    decorator_validates_arguments(decorator);
+    decorator_runs_cases_lazily(decorator);
+
+    Function<Test, Test> stressDecorator = test -> stress(Duration.ZERO, 1, test);
+    decorator_preserves_names_and_structure(stressDecorator);
+    decorator_preserves_case_result(stressDecorator);
+    decorator_validates_arguments(stressDecorator);
+    decorator_runs_cases_lazily(stressDecorator);
+
+    repeats_case();
+    counts_failed_runs();
+    reports_distinct_throwables();
+    stops_at_misassumption();
+    stops_when_interrupted();
+    stresses_case_in_many_threads_at_once();
+    stresses_case_until_duration_passes();
+    validates_arguments();
+  }
+
+  private static void repeats_case() {
+    AtomicInteger invoked = new AtomicInteger();
+
+    run(repeat(1000, newCase("case", () -> invoked.incrementAndGet())));
+
+    assertEquals(invoked.get(), 1000);
+  }
+
+  private static void counts_failed_runs() {
+    AtomicInteger invoked = new AtomicInteger();
+    Throwable throwable = new AssertException("odd");
+    Test test = repeat(10, newCase("case", () -> {
+      if (invoked.incrementAndGet() % 2 == 1) {
+        throw throwable;
+      }
+    }));
+
+    Throwable thrown = runAndCatch(run(test)).get();
+
+    assertTrue(thrown instanceof AssertException);
+    assertTrue(thrown.getMessage().startsWith("failed 5 of 10 runs"));
+    assertEquals(thrown.getCause(), throwable);
+  }
+
+  private static void reports_distinct_throwables() {
+    AtomicInteger invoked = new AtomicInteger();
+    Test test = repeat(3, newCase("case", () -> {
+      throw new AssertException("run " + invoked.incrementAndGet() % 2);
+    }));
+
+    Throwable thrown = runAndCatch(run(test)).get();
+
+    assertEquals(thrown.getCause().getMessage(), "run 1");
+    assertEquals(thrown.getSuppressed().length, 1);
+    assertEquals(thrown.getSuppressed()[0].getMessage(), "run 0");
+    assertTrue(thrown.getMessage().contains("2 times " + thrown.getCause()));
+  }
+
+  private static void stops_at_misassumption() {
+    AtomicInteger invoked = new AtomicInteger();
+    Test test = repeat(10, newCase("case", () -> {
+      invoked.incrementAndGet();
+      throw new AssumeException();
+    }));
+
+    Throwable thrown = runAndCatch(run(test)).get();
+
+    assertTrue(thrown instanceof AssumeException);
+    assertEquals(invoked.get(), 1);
+  }
+
+  private static void stops_when_interrupted() {
+    Test test = repeat(Integer.MAX_VALUE, newCase("case", () -> {}));
+
+    interruptMeAfter(0.05);
+    Throwable thrown = runAndCatch(run(test)).get();
+
+    assertTrue(thrown instanceof InterruptedException);
+  }
+
+  private static void stresses_case_in_many_threads_at_once() {
+    int threads = 4;
+    CountDownLatch latch = new CountDownLatch(threads);
+    Set<Thread> running = ConcurrentHashMap.newKeySet();
+    Test test = stress(Duration.ZERO, threads, newCase("case", () -> {
+      running.add(Thread.currentThread());
+      latch.countDown();
+      latch.await();
+    }));
+
+    Throwable thrown = runAndCatch(run(test)).orElse(null);
+
+    assertEquals(thrown, null);
+    assertEquals(running.size(), threads);
+  }
+
+  private static void stresses_case_until_duration_passes() {
+    AtomicInteger invoked = new AtomicInteger();
+    Test test = stress(seconds(0.1), 2, newCase("case", () -> {
+      invoked.incrementAndGet();
+      sleep(0.01);
+    }));
+
+    long start = System.nanoTime();
+    run(test);
+    double time = (System.nanoTime() - start) / 1e9;
+
+    assertTrue(0.1 <= time && time < 0.5);
+    assertTrue(invoked.get() > 2);
+  }
+
+  private static void validates_arguments() {
+    try {
+      repeat(0, mockCase("case"));
+      fail();
+    } catch (QuackeryException e) {}
+    try {
+      stress(seconds(1), 0, mockCase("case"));
+      fail();
+    } catch (QuackeryException e) {}
+    try {
+      stress(seconds(-1), 1, mockCase("case"));
+      fail();
+    } catch (QuackeryException e) {}
+  }
+}
@@ -1,14 +1,31 @@
 package org.quackery.run;
 
+import static org.quackery.Case.newCase;
+import static org.quackery.Suite.generated;
+import static org.quackery.Suite.suite;
+import static org.quackery.report.Reports.count;
+import static org.quackery.report.Reports.format;
 import static org.quackery.run.Runners.run;
 import static org.quackery.run.TestingDecorators.decorator_preserves_case_result;
 import static org.quackery.run.TestingDecorators.decorator_preserves_names_and_structure;
 import static org.quackery.run.TestingDecorators.decorator_runs_cases_eagerly;
 import static org.quackery.run.TestingDecorators.decorator_validates_arguments;
+import static org.quackery.testing.Testing.assertEquals;
+import static org.quackery.testing.Testing.assertTrue;
+import static org.quackery.testing.Testing.childrenOf;
+import static org.quackery.testing.Testing.mockCase;
+import static org.quackery.testing.Testing.runAndThrow;
 
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
+import org.quackery.Suite;
 import org.quackery.Test;
+import org.quackery.report.AssertException;
+import org.quackery.report.AssumeException;
+import org.quackery.report.Result;
 
 public class TestRunnersRun {
   public static void test_runners_run() throws Throwable {
@@ -18,5 +35,92 @@ public class TestRunnersRun {
     decorator_preserves_case_result(decorate);
     decorator_validates_arguments(decorate);
     decorator_runs_cases_eagerly(decorate);
+
+    runs_generated_suite_once();
+    runs_deep_hierarchy();
+    produces_results();
+    reports_do_not_run_cases_again();
+  }
+
+  private static void runs_generated_suite_once() throws Throwable {
+    AtomicInteger generated = new AtomicInteger();
+    AtomicInteger invoked = new AtomicInteger();
+    Test test = generated("suite", () -> {
+      generated.incrementAndGet();
+      return Stream.of(
+          newCase("caseA", () -> invoked.incrementAndGet()),
+          newCase("caseB", () -> invoked.incrementAndGet()));
+    });
+
+    Test report = run(test);
+    for (Test child : childrenOf(report)) {
+      runAndThrow(child);
+    }
+    for (Test child : childrenOf(report)) {
+      runAndThrow(child);
+    }
+
+    assertTrue(!((Suite) report).isGenerated());
+    assertEquals(generated.get(), 1);
+    assertEquals(invoked.get(), 2);
+  }
+
+  private static void runs_deep_hierarchy() throws Throwable {
+    AtomicInteger invoked = new AtomicInteger();
+    Test test = newCase("case", () -> invoked.incrementAndGet());
+    for (int i = 0; i < 100_000; i++) {
+      test = suite("suite").add(test);
+    }
+
+    Test report = run(test);
+    for (int i = 0; i < 100_000; i++) {
+      report = childrenOf(report).get(0);
+    }
+    runAndThrow(report);
+
+    assertEquals(invoked.get(), 1);
+  }
+
+  private static void produces_results() {
+    Throwable throwable = new Throwable();
+    Test report = run(suite("suite")
+        .add(mockCase("success"))
+        .add(mockCase("failure", throwable)));
+
+    Result success = resultOf(childrenOf(report).get(0));
+    Result failure = resultOf(childrenOf(report).get(1));
+
+    assertTrue(success.isSuccessful());
+    assertEquals(failure.getThrown(), Optional.of(throwable));
+    assertTrue(!failure.getDuration().isNegative());
+    assertEquals(failure.getThreadName(), Thread.currentThread().getName());
+  }
+
+  private static Result resultOf(Test test) {
+    return test.visit(
+        (name, body) -> (Result) body,
+        (name, children) -> {
+          throw new AssertionError();
+        });
+  }
+
+  private static void reports_do_not_run_cases_again() {
+    AtomicInteger invoked = new AtomicInteger();
+    Test test = suite("suite");
+    for (int i = 0; i < 100; i++) {
+      test = ((Suite) test).add(newCase("case", () -> {
+        invoked.incrementAndGet();
+        throw new AssertException();
+      }));
+    }
+
+    Test report = run(test);
+    count(AssertException.class, report);
+    count(AssumeException.class, report);
+    count(Throwable.class, report);
+    format(report);
+
+    assertEquals(invoked.get(), 100);
+    assertTrue(run(report) == report);
   }
 }
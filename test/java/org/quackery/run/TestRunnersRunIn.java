@@ -3,6 +3,7 @@ package org.quackery.run;
 import static java.util.concurrent.Executors.newCachedThreadPool;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.quackery.Case.newCase;
+import static org.quackery.Suite.generated;
 import static org.quackery.Suite.suite;
 import static org.quackery.run.Runners.in;
 import static org.quackery.run.Runners.run;
@@ -10,18 +11,24 @@ import static org.quackery.run.TestingDecorators.decorator_preserves_case_result
 import static org.quackery.run.TestingDecorators.decorator_preserves_names_and_structure;
 import static org.quackery.run.TestingDecorators.decorator_runs_cases_eagerly;
 import static org.quackery.run.TestingDecorators.decorator_validates_arguments;
+import static org.quackery.testing.Testing.assertEquals;
 import static org.quackery.testing.Testing.assertTrue;
+import static org.quackery.testing.Testing.childrenOf;
 import static org.quackery.testing.Testing.fail;
 import static org.quackery.testing.Testing.mockCase;
+import static org.quackery.testing.Testing.runAndThrow;
 
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 
 import org.quackery.QuackeryException;
 import org.quackery.Test;
+import org.quackery.report.Result;
 
 public class TestRunnersRunIn {
   public static void test_runners_run_in() throws Throwable {
@@ -33,6 +40,9 @@ public class TestRunnersRunIn {
     decorator_runs_cases_eagerly(decorator);
 
     submits_asynchronously_to_executor();
+    submits_generated_cases_when_run();
+    limits_generated_cases_in_flight();
+    keeps_results_computed_by_executor();
     validates_arguments();
   }
 
@@ -53,6 +63,50 @@ public class TestRunnersRunIn {
     assertTrue(executor.awaitTermination(1, SECONDS));
   }
 
+  private static void submits_generated_cases_when_run() throws Throwable {
+    AtomicInteger submitted = new AtomicInteger();
+    Executor executor = runnable -> {
+      submitted.incrementAndGet();
+      runnable.run();
+    };
+    Test test = in(executor, generated("suite", () -> IntStream.range(0, 3)
+        .mapToObj(i -> mockCase("case" + i))));
+
+    childrenOf(test).forEach(child -> {});
+    assertEquals(submitted.get(), 0);
+
+    for (Test child : childrenOf(test)) {
+      runAndThrow(child);
+    }
+    assertEquals(submitted.get(), 3);
+  }
+
+  private static void limits_generated_cases_in_flight() throws Throwable {
+    int window = Runtime.getRuntime().availableProcessors();
+    AtomicInteger generated = new AtomicInteger();
+    AtomicInteger maxAhead = new AtomicInteger();
+    AtomicInteger invoked = new AtomicInteger();
+    ExecutorService executor = newCachedThreadPool();
+    Test test = in(executor, generated("suite", () -> IntStream.range(0, 100)
+        .mapToObj(i -> {
+          generated.incrementAndGet();
+          return newCase("case" + i, () -> invoked.incrementAndGet());
+        })));
+
+    int run = 0;
+    for (Test child : childrenOf(test)) {
+      maxAhead.set(Math.max(maxAhead.get(), generated.get() - run));
+      runAndThrow(child);
+      run++;
+    }
+
+    assertEquals(invoked.get(), 100);
+    assertTrue(maxAhead.get() <= window + 1);
+
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(1, SECONDS));
+  }
+
   private static Test countDown(CountDownLatch latch, AtomicBoolean failed) {
     return newCase("countDown", () -> {
       latch.countDown();
@@ -62,6 +116,22 @@ public class TestRunnersRunIn {
     });
   }
 
+  private static void keeps_results_computed_by_executor() throws InterruptedException {
+    ExecutorService executor = newCachedThreadPool(runnable -> new Thread(runnable, "worker"));
+    Test test = suite("suite")
+        .add(mockCase("case"));
+
+    Test report = run(in(executor, test));
+
+    Result result = childrenOf(report).get(0).visit(
+        (name, body) -> (Result) body,
+        (name, children) -> null);
+    assertEquals(result.getThreadName(), "worker");
+
+    executor.shutdown();
+    executor.awaitTermination(1, SECONDS);
+  }
+
   private static void validates_arguments() {
     try {
       in(null, mockCase("case"));
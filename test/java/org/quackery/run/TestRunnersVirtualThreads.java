@@ -0,0 +1,137 @@
+package org.quackery.run;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.quackery.Case.newCase;
+import static org.quackery.Suite.suite;
+import static org.quackery.run.Runners.run;
+import static org.quackery.run.Runners.virtualThreadScoped;
+import static org.quackery.run.Runners.virtualThreads;
+import static org.quackery.run.Runners.virtualTimeout;
+import static org.quackery.run.TestingDecorators.decorator_preserves_case_result;
+import static org.quackery.run.TestingDecorators.decorator_preserves_names_and_structure;
+import static org.quackery.run.TestingDecorators.decorator_runs_cases_eagerly;
+import static org.quackery.run.TestingDecorators.decorator_runs_cases_lazily;
+import static org.quackery.run.TestingDecorators.decorator_validates_arguments;
+import static org.quackery.testing.Testing.assertEquals;
+import static org.quackery.testing.Testing.assertNotEquals;
+import static org.quackery.testing.Testing.assertTrue;
+import static org.quackery.testing.Testing.childrenOf;
+import static org.quackery.testing.Testing.fail;
+import static org.quackery.testing.Testing.mockCase;
+import static org.quackery.testing.Testing.runAndThrow;
+import static org.quackery.testing.Testing.seconds;
+import static org.quackery.testing.Testing.sleep;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.quackery.QuackeryException;
+import org.quackery.Suite;
+import org.quackery.Test;
+
+public class TestRunnersVirtualThreads {
+  public static void test_runners_virtual_threads() throws Throwable {
+    Function<Test, Test> runner = test -> run(virtualThreads(test));
+    decorator_preserves_names_and_structure(runner);
+    decorator_preserves_case_result(runner);
+    decorator_validates_arguments(runner);
+    decorator_runs_cases_eagerly(runner);
+
+    Function<Test, Test> scoped = test -> virtualThreadScoped(test);
+    decorator_preserves_names_and_structure(scoped);
+    decorator_preserves_case_result(scoped);
+    decorator_validates_arguments(scoped);
+    decorator_runs_cases_lazily(scoped);
+
+    Function<Test, Test> timeout = test -> virtualTimeout(seconds(1), test);
+    decorator_preserves_names_and_structure(timeout);
+    decorator_preserves_case_result(timeout);
+    decorator_validates_arguments(timeout);
+    decorator_runs_cases_lazily(timeout);
+
+    runs_concurrently();
+    scopes_test_in_different_thread_than_caller();
+    interrupts_case_after_timeout();
+    runs_many_cases_with_timeout();
+    validates_arguments();
+  }
+
+  private static void runs_concurrently() {
+    CountDownLatch latch = new CountDownLatch(3);
+    AtomicBoolean failed = new AtomicBoolean(false);
+    Test test = suite("")
+        .add(countDown(latch, failed))
+        .add(countDown(latch, failed))
+        .add(countDown(latch, failed));
+
+    run(virtualThreads(test));
+
+    assertTrue(!failed.get());
+  }
+
+  private static Test countDown(CountDownLatch latch, AtomicBoolean failed) {
+    return newCase("countDown", () -> {
+      latch.countDown();
+      if (!latch.await(1, SECONDS)) {
+        failed.set(true);
+      }
+    });
+  }
+
+  private static void scopes_test_in_different_thread_than_caller() throws Throwable {
+    Thread callerThread = Thread.currentThread();
+    AtomicReference<Thread> scope = new AtomicReference<>();
+    Test test = virtualThreadScoped(newCase("case", () -> {
+      scope.set(Thread.currentThread());
+    }));
+
+    runAndThrow(test);
+
+    assertNotEquals(scope.get(), null);
+    assertNotEquals(scope.get(), callerThread);
+  }
+
+  private static void interrupts_case_after_timeout() throws Throwable {
+    AtomicBoolean interrupted = new AtomicBoolean(false);
+    Test test = virtualTimeout(seconds(0.01), newCase("case", () -> {
+      try {
+        sleep(0.02);
+      } catch (InterruptedException e) {
+        interrupted.set(true);
+        throw e;
+      }
+    }));
+
+    try {
+      runAndThrow(test);
+      fail();
+    } catch (InterruptedException e) {}
+    assertTrue(interrupted.get());
+  }
+
+  private static void runs_many_cases_with_timeout() throws Throwable {
+    int count = 100_000;
+    AtomicInteger invoked = new AtomicInteger();
+    Suite suite = suite("suite");
+    for (int i = 0; i < count; i++) {
+      suite = suite.add(newCase("case" + i, () -> invoked.incrementAndGet()));
+    }
+
+    Test report = run(virtualThreads(virtualTimeout(seconds(10), suite)));
+    for (Test child : childrenOf(report)) {
+      runAndThrow(child);
+    }
+
+    assertEquals(invoked.get(), count);
+  }
+
+  private static void validates_arguments() {
+    try {
+      virtualTimeout(seconds(-0.001), mockCase("case"));
+      fail();
+    } catch (QuackeryException e) {}
+  }
+}